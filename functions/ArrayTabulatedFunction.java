@@ -1,10 +1,12 @@
 package functions;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
-public class ArrayTabulatedFunction implements TabulatedFunction, Externalizable {
+public class ArrayTabulatedFunction implements TabulatedFunction, BatchFunction, Externalizable {
     private FunctionPoint[] points;
     private int pointCount;
     
@@ -142,6 +144,46 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Externalizable
         return Double.NaN;
     }
     
+    /**
+     * Вычисление значений для массива аргументов. Текущий отрезок запоминается
+     * между соседними аргументами, поэтому для возрастающих аргументов
+     * (узлов интегрирования, табулирования) поиск отрезка не повторяется
+     */
+    @Override
+    public void getFunctionValues(double[] xValues, double[] yValues, int count) {
+        double leftX = points[0].getX();
+        double rightX = points[pointCount - 1].getX();
+        int segment = 0;
+        
+        for (int i = 0; i < count; i++) {
+            double x = xValues[i];
+            if (x < leftX || x > rightX || Double.isNaN(x)) {
+                yValues[i] = Double.NaN;
+                continue;
+            }
+            
+            if (x < points[segment].getX()) {
+                segment = 0;
+            }
+            while (segment < pointCount - 2 && x > points[segment + 1].getX()) {
+                segment++;
+            }
+            
+            double x1 = points[segment].getX();
+            double y1 = points[segment].getY();
+            double x2 = points[segment + 1].getX();
+            double y2 = points[segment + 1].getY();
+            
+            if (Double.compare(x1, x) == 0) {
+                yValues[i] = y1;
+            } else if (Double.compare(x2, x) == 0) {
+                yValues[i] = y2;
+            } else {
+                yValues[i] = y1 + (y2 - y1) * (x - x1) / (x2 - x1);
+            }
+        }
+    }
+    
     @Override
     public int getPointCount() {
         return pointCount;
@@ -337,23 +379,58 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Externalizable
         };
     }
     
+    /**
+     * Маркер блочного формата сериализации. В старом формате поток начинается
+     * с количества точек, которое не может быть отрицательным
+     */
+    private static final int BULK_EXTERNAL_FORMAT = -1;
+    
     @Override
     public void writeExternal(ObjectOutput out) throws IOException {
-        out.writeInt(pointCount);
+        // Столбцы X и Y записываются одним блоком байтов
+        ByteBuffer buffer = ByteBuffer.allocate(TabulatedFunctions.columnBytes(pointCount));
+        DoubleBuffer columns = buffer.asDoubleBuffer();
         for (int i = 0; i < pointCount; i++) {
-            out.writeDouble(points[i].getX());
-            out.writeDouble(points[i].getY());
+            columns.put(i, points[i].getX());
+            columns.put(pointCount + i, points[i].getY());
         }
+        out.writeInt(BULK_EXTERNAL_FORMAT);
+        out.writeInt(pointCount);
+        out.write(buffer.array());
     }
     
     @Override
     public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
-        pointCount = in.readInt();
+        int header = in.readInt();
+        if (header != BULK_EXTERNAL_FORMAT) {
+            // Старый формат: количество точек и пары координат
+            pointCount = header;
+            points = new FunctionPoint[pointCount + 10];
+            for (int i = 0; i < pointCount; i++) {
+                double x = in.readDouble();
+                double y = in.readDouble();
+                points[i] = new FunctionPoint(x, y);
+            }
+            return;
+        }
+        
+        int count = in.readInt();
+        if (count < 0) {
+            throw new InvalidObjectException("Negative point count: " + count);
+        }
+        byte[] bytes;
+        try {
+            bytes = new byte[TabulatedFunctions.columnBytes(count)];
+        } catch (IllegalArgumentException e) {
+            throw new InvalidObjectException(e.getMessage());
+        }
+        in.readFully(bytes);
+        DoubleBuffer columns = ByteBuffer.wrap(bytes).asDoubleBuffer();
+        
+        pointCount = count;
         points = new FunctionPoint[pointCount + 10];
         for (int i = 0; i < pointCount; i++) {
-            double x = in.readDouble();
-            double y = in.readDouble();
-            points[i] = new FunctionPoint(x, y);
+            points[i] = new FunctionPoint(columns.get(i), columns.get(pointCount + i));
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package functions;
+
+/**
+ * Функция, значения которой можно вычислить сразу для массива аргументов.
+ * Результат для каждого аргумента должен совпадать с getFunctionValue()
+ */
+public interface BatchFunction extends Function {
+    /**
+     * Вычисление значений функции в точках xValues[0..count) в массив yValues[0..count)
+     */
+    void getFunctionValues(double[] xValues, double[] yValues, int count);
+}
@@ -0,0 +1,17 @@
+package functions;
+
+/**
+ * Признак отмены длительного вычисления. Может быть общим для нескольких
+ * вычислений и потоков; отмена необратима
+ */
+public class CancellationToken {
+    private volatile boolean cancelled;
+    
+    public void cancel() {
+        cancelled = true;
+    }
+    
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,337 @@
+package functions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Кусочное приближение функции рядами Чебышёва на отрезке [leftX, rightX].
+ * На каждом куске функция вычисляется в точках Чебышёва-Лобатто, степень
+ * удваивается (16, 32, ..., 512), пока хвост коэффициентов не станет меньше
+ * заданной погрешности; если этого не происходит, кусок делится пополам.
+ * Лишние старшие коэффициенты отбрасываются, пока сумма их модулей
+ * не превышает половины погрешности. Значения вычисляются по схеме
+ * Кленшоу, интеграл и производная - по коэффициентам, без вычисления
+ * исходной функции. Вне [leftX, rightX] значение - NaN.
+ * Приближение предназначено для гладких функций
+ */
+public class ChebyshevFunction implements BatchFunction {
+    private static final int MIN_DEGREE = 16;
+    private static final int MAX_DEGREE = 512;
+    private static final int MAX_PIECES = 4096;
+    
+    /**
+     * Границы кусков: breakpoints[i] .. breakpoints[i + 1]
+     */
+    private final double[] breakpoints;
+    
+    /**
+     * Коэффициенты рядов Чебышёва по кускам (аргумент приведен к [-1, 1])
+     */
+    private final double[][] coefficients;
+    
+    /**
+     * Коэффициенты первообразных кусков (равных 0 в левом конце куска)
+     * и интегралы по кускам с начала отрезка
+     */
+    private final double[][] integralCoefficients;
+    private final double[] cumulativeIntegrals;
+    
+    private ChebyshevFunction(double[] breakpoints, double[][] coefficients) {
+        this.breakpoints = breakpoints;
+        this.coefficients = coefficients;
+        int pieces = coefficients.length;
+        this.integralCoefficients = new double[pieces][];
+        this.cumulativeIntegrals = new double[pieces + 1];
+        for (int i = 0; i < pieces; i++) {
+            double halfWidth = (breakpoints[i + 1] - breakpoints[i]) / 2;
+            integralCoefficients[i] = antiderivative(coefficients[i], halfWidth);
+            cumulativeIntegrals[i + 1] = cumulativeIntegrals[i] + clenshaw(integralCoefficients[i], 1);
+        }
+    }
+    
+    /**
+     * Построение приближения функции на отрезке с заданной абсолютной погрешностью
+     * @throws IllegalArgumentException если отрезок выходит за область определения,
+     *         функция принимает нечисловые значения или погрешность не достигнута
+     */
+    public static ChebyshevFunction approximate(Function function, double leftX, double rightX, double tolerance) {
+        if (!(leftX < rightX) || Double.isInfinite(leftX) || Double.isInfinite(rightX)) {
+            throw new IllegalArgumentException(
+                String.format("Invalid interval [%.2f, %.2f]: borders must be finite and ordered", leftX, rightX));
+        }
+        if (leftX < function.getLeftDomainBorder() || rightX > function.getRightDomainBorder()) {
+            throw new IllegalArgumentException(
+                String.format("Interval [%.2f, %.2f] is outside function domain [%.2f, %.2f]",
+                    leftX, rightX, function.getLeftDomainBorder(), function.getRightDomainBorder()));
+        }
+        if (!(tolerance > 0)) {
+            throw new IllegalArgumentException("Tolerance must be positive (got " + tolerance + ")");
+        }
+        
+        List<Double> breakpoints = new ArrayList<>();
+        List<double[]> coefficients = new ArrayList<>();
+        breakpoints.add(leftX);
+        fit(function, leftX, rightX, tolerance, breakpoints, coefficients);
+        
+        double[] borders = new double[breakpoints.size()];
+        for (int i = 0; i < borders.length; i++) {
+            borders[i] = breakpoints.get(i);
+        }
+        return new ChebyshevFunction(borders, coefficients.toArray(new double[0][]));
+    }
+    
+    /**
+     * Приближение на [a, b]; куски добавляются слева направо
+     */
+    private static void fit(Function function, double a, double b, double tolerance,
+                            List<Double> breakpoints, List<double[]> coefficients) {
+        for (int degree = MIN_DEGREE; degree <= MAX_DEGREE; degree *= 2) {
+            double[] c = interpolate(function, a, b, degree);
+            double tail = 0;
+            for (int k = degree - degree / 4; k <= degree; k++) {
+                tail += Math.abs(c[k]);
+            }
+            if (tail <= tolerance / 4) {
+                coefficients.add(truncate(c, tolerance / 2));
+                breakpoints.add(b);
+                return;
+            }
+        }
+        
+        double middle = a + (b - a) / 2;
+        if (coefficients.size() + 2 > MAX_PIECES || !(middle > a && middle < b)) {
+            throw new IllegalArgumentException(
+                String.format("Tolerance %s is not reached on [%.6g, %.6g]", tolerance, a, b));
+        }
+        fit(function, a, middle, tolerance, breakpoints, coefficients);
+        fit(function, middle, b, tolerance, breakpoints, coefficients);
+    }
+    
+    /**
+     * Коэффициенты интерполяционного многочлена степени n в точках
+     * Чебышёва-Лобатто x_j = cos(pi j / n) (дискретное косинус-преобразование)
+     */
+    private static double[] interpolate(Function function, double a, double b, int n) {
+        double center = (a + b) / 2;
+        double halfWidth = (b - a) / 2;
+        double[] cosines = new double[2 * n];
+        for (int i = 0; i < 2 * n; i++) {
+            cosines[i] = Math.cos(Math.PI * i / n);
+        }
+        
+        double[] values = new double[n + 1];
+        for (int j = 0; j <= n; j++) {
+            double x = (j == 0) ? b : (j == n) ? a : center + halfWidth * cosines[j];
+            values[j] = function.getFunctionValue(x);
+            if (Double.isNaN(values[j]) || Double.isInfinite(values[j])) {
+                throw new IllegalArgumentException(
+                    String.format("Function value at %.6g is not finite: %s", x, values[j]));
+            }
+        }
+        
+        double[] c = new double[n + 1];
+        for (int k = 0; k <= n; k++) {
+            double sum = (values[0] + ((k % 2 == 0) ? values[n] : -values[n])) / 2;
+            for (int j = 1; j < n; j++) {
+                sum += values[j] * cosines[(j * k) % (2 * n)];
+            }
+            c[k] = sum * 2 / n;
+        }
+        c[0] /= 2;
+        c[n] /= 2;
+        return c;
+    }
+    
+    /**
+     * Отбрасывание старших коэффициентов с суммой модулей не больше limit
+     */
+    private static double[] truncate(double[] c, double limit) {
+        int length = c.length;
+        double dropped = 0;
+        while (length > 1 && dropped + Math.abs(c[length - 1]) <= limit) {
+            dropped += Math.abs(c[length - 1]);
+            length--;
+        }
+        return Arrays.copyOf(c, length);
+    }
+    
+    /**
+     * Коэффициенты первообразной ряда (по x, равной 0 в левом конце куска):
+     * интеграл T_k = (T_{k+1} / (k + 1) - T_{k-1} / (k - 1)) / 2
+     */
+    private static double[] antiderivative(double[] c, double halfWidth) {
+        int n = c.length;
+        double[] result = new double[n + 1];
+        for (int k = 0; k < n; k++) {
+            double value = c[k] * halfWidth;
+            if (k == 0) {
+                result[1] += value;
+            } else if (k == 1) {
+                result[2] += value / 4;
+            } else {
+                result[k + 1] += value / (2 * (k + 1));
+                result[k - 1] -= value / (2 * (k - 1));
+            }
+        }
+        // Постоянная: значение в t = -1 равно 0
+        result[0] -= clenshaw(result, -1);
+        return result;
+    }
+    
+    /**
+     * Значение ряда sum c_k T_k(t) по схеме Кленшоу
+     */
+    private static double clenshaw(double[] c, double t) {
+        double b1 = 0;
+        double b2 = 0;
+        double twoT = 2 * t;
+        for (int k = c.length - 1; k >= 1; k--) {
+            double b0 = c[k] + twoT * b1 - b2;
+            b2 = b1;
+            b1 = b0;
+        }
+        return c[0] + t * b1 - b2;
+    }
+    
+    /**
+     * Номер куска, содержащего x (x в пределах области определения)
+     */
+    private int piece(double x) {
+        if (coefficients.length == 1) {
+            return 0;
+        }
+        int index = Arrays.binarySearch(breakpoints, x);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        return Math.min(index, coefficients.length - 1);
+    }
+    
+    private double toUnit(int piece, double x) {
+        double a = breakpoints[piece];
+        double b = breakpoints[piece + 1];
+        double t = (2 * x - a - b) / (b - a);
+        return Math.max(-1, Math.min(1, t));
+    }
+    
+    @Override
+    public double getLeftDomainBorder() {
+        return breakpoints[0];
+    }
+    
+    @Override
+    public double getRightDomainBorder() {
+        return breakpoints[breakpoints.length - 1];
+    }
+    
+    @Override
+    public double getFunctionValue(double x) {
+        if (!(x >= getLeftDomainBorder() && x <= getRightDomainBorder())) {
+            return Double.NaN;
+        }
+        int piece = piece(x);
+        return clenshaw(coefficients[piece], toUnit(piece, x));
+    }
+    
+    @Override
+    public void getFunctionValues(double[] xValues, double[] yValues, int count) {
+        for (int i = 0; i < count; i++) {
+            yValues[i] = getFunctionValue(xValues[i]);
+        }
+    }
+    
+    /**
+     * Точный интеграл приближения по [leftX, rightX]
+     * @throws IllegalArgumentException если отрезок выходит за область определения
+     */
+    public double integrate(double leftX, double rightX) {
+        if (leftX < getLeftDomainBorder() || rightX > getRightDomainBorder() || !(leftX <= rightX)) {
+            throw new IllegalArgumentException(
+                String.format("Integration interval [%.2f, %.2f] is outside function domain [%.2f, %.2f]",
+                    leftX, rightX, getLeftDomainBorder(), getRightDomainBorder()));
+        }
+        return antiderivativeAt(rightX) - antiderivativeAt(leftX);
+    }
+    
+    /**
+     * Отрезок, содержащий все значения на [leftX, rightX] (пересеченном с областью
+     * определения): на каждом куске |sum c_k T_k| не больше c_0 + sum |c_k|, k &gt;= 1;
+     * граница расширяется на оценку погрешности округления схемы Кленшоу
+     */
+    public Interval bounds(double leftX, double rightX) {
+        double from = Math.max(leftX, getLeftDomainBorder());
+        double to = Math.min(rightX, getRightDomainBorder());
+        if (!(from <= to)) {
+            return Interval.EMPTY;
+        }
+        Interval result = Interval.EMPTY;
+        for (int i = piece(from), last = piece(to); i <= last; i++) {
+            double[] c = coefficients[i];
+            double spread = 0;
+            for (int k = 1; k < c.length; k++) {
+                spread += Math.abs(c[k]);
+            }
+            double margin = 4 * c.length * Math.ulp(Math.abs(c[0]) + spread);
+            result = result.hull(Interval.rounded(c[0] - spread - margin, c[0] + spread + margin));
+        }
+        return result;
+    }
+    
+    /**
+     * Интеграл от левой границы области определения до x
+     */
+    private double antiderivativeAt(double x) {
+        int piece = piece(x);
+        return cumulativeIntegrals[piece] + clenshaw(integralCoefficients[piece], toUnit(piece, x));
+    }
+    
+    /**
+     * Производная приближения (на каждом куске - ряд степени на 1 меньше)
+     */
+    public ChebyshevFunction derivative() {
+        double[][] derivatives = new double[coefficients.length][];
+        for (int i = 0; i < coefficients.length; i++) {
+            double[] c = coefficients[i];
+            int n = c.length - 1;
+            double scale = 2 / (breakpoints[i + 1] - breakpoints[i]);
+            if (n == 0) {
+                derivatives[i] = new double[] {0};
+                continue;
+            }
+            // c'_{k-1} = c'_{k+1} + 2k c_k, c'_0 делится пополам
+            double[] d = new double[n + 2];
+            for (int k = n; k >= 1; k--) {
+                d[k - 1] = d[k + 1] + 2 * k * c[k];
+            }
+            d[0] /= 2;
+            double[] result = new double[n];
+            for (int k = 0; k < n; k++) {
+                result[k] = d[k] * scale;
+            }
+            derivatives[i] = result;
+        }
+        return new ChebyshevFunction(breakpoints.clone(), derivatives);
+    }
+    
+    public int getPieceCount() {
+        return coefficients.length;
+    }
+    
+    /**
+     * Наибольшая степень ряда среди кусков
+     */
+    public int getMaxDegree() {
+        int degree = 0;
+        for (double[] c : coefficients) {
+            degree = Math.max(degree, c.length - 1);
+        }
+        return degree;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("ChebyshevFunction[pieces=%d, maxDegree=%d, [%.2f, %.2f]]",
+            getPieceCount(), getMaxDegree(), getLeftDomainBorder(), getRightDomainBorder());
+    }
+}
\ No newline at end of file
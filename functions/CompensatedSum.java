@@ -0,0 +1,23 @@
+package functions;
+
+/**
+ * Сумма с компенсацией погрешности округления (алгоритм Ноймайера)
+ */
+final class CompensatedSum {
+    private double sum;
+    private double compensation;
+    
+    void add(double value) {
+        double t = sum + value;
+        if (Math.abs(sum) >= Math.abs(value)) {
+            compensation += (sum - t) + value;
+        } else {
+            compensation += (value - t) + sum;
+        }
+        sum = t;
+    }
+    
+    double getSum() {
+        return sum + compensation;
+    }
+}
\ No newline at end of file
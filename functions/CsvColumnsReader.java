@@ -0,0 +1,277 @@
+package functions;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Параллельное чтение многостолбцового CSV-файла: первый столбец - X,
+ * остальные - значения Y разных функций. Файл делится на диапазоны байтов,
+ * выровненные по границам строк, которые разбираются параллельно
+ */
+class CsvColumnsReader {
+    // Минимальный размер фрагмента, меньше которого файл не дробится
+    private static final long MIN_CHUNK_SIZE = 1L << 20;
+    // Максимальный размер одного отображения файла в память
+    private static final long MAX_CHUNK_SIZE = 1L << 30;
+    
+    private final Path path;
+    private final char separator;
+    
+    CsvColumnsReader(Path path, char separator) {
+        if (separator == '\n' || separator == '\r' || separator == '.' || separator == '-') {
+            throw new IllegalArgumentException("Invalid CSV separator: '" + separator + "'");
+        }
+        this.path = path;
+        this.separator = separator;
+    }
+    
+    /**
+     * Чтение файла
+     * @return массив столбцов; нулевой столбец - значения X
+     */
+    double[][] read() throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            
+            // Первая строка может быть заголовком; по ней же определяется число столбцов
+            long dataStart = 0;
+            String firstLine = readLine(channel, 0);
+            if (firstLine == null) {
+                throw new IOException("CSV file is empty: " + path);
+            }
+            String[] fields = firstLine.split(Pattern.quote(String.valueOf(separator)), -1);
+            if (fields.length < 2) {
+                throw new IOException("CSV file must contain an x column and at least one y column");
+            }
+            if (!isNumber(fields[0].trim())) {
+                dataStart = nextLineStart(channel, 0, size);
+            }
+            int columnCount = fields.length;
+            
+            long dataSize = size - dataStart;
+            int chunkCount = (int) Math.max(
+                Math.min((dataSize + MIN_CHUNK_SIZE - 1) / MIN_CHUNK_SIZE, 
+                    Runtime.getRuntime().availableProcessors() * 4L),
+                (dataSize + MAX_CHUNK_SIZE - 1) / MAX_CHUNK_SIZE);
+            chunkCount = Math.max(chunkCount, 1);
+            
+            // Границы фрагментов сдвигаются на начало следующей строки
+            long[] bounds = new long[chunkCount + 1];
+            bounds[0] = dataStart;
+            bounds[chunkCount] = size;
+            for (int i = 1; i < chunkCount; i++) {
+                long candidate = Math.max(bounds[i - 1], dataStart + dataSize / chunkCount * i);
+                bounds[i] = findLineStart(channel, candidate, size);
+            }
+            
+            Chunk[] chunks = new Chunk[chunkCount];
+            try {
+                IntStream.range(0, chunkCount).parallel().forEach(i -> {
+                    try {
+                        chunks[i] = parseChunk(channel, bounds[i], bounds[i + 1], columnCount);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            
+            return merge(chunks, columnCount);
+        }
+    }
+    
+    /**
+     * Склейка фрагментов с проверкой возрастания X на их границах
+     */
+    private static double[][] merge(Chunk[] chunks, int columnCount) throws IOException {
+        long total = 0;
+        Chunk previous = null;
+        for (Chunk chunk : chunks) {
+            if (chunk.rows == 0) {
+                continue;
+            }
+            if (previous != null && chunk.columns[0][0] <= previous.columns[0][previous.rows - 1]) {
+                throw new IOException("X values must be strictly increasing (violated at byte " 
+                    + chunk.start + ")");
+            }
+            total += chunk.rows;
+            previous = chunk;
+        }
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new IOException("Too many rows in CSV file: " + total);
+        }
+        
+        double[][] result = new double[columnCount][(int) total];
+        int offset = 0;
+        for (Chunk chunk : chunks) {
+            for (int c = 0; c < columnCount; c++) {
+                System.arraycopy(chunk.columns[c], 0, result[c], offset, chunk.rows);
+            }
+            offset += chunk.rows;
+        }
+        return result;
+    }
+    
+    /**
+     * Разбор диапазона байтов [start, end), начинающегося с начала строки
+     */
+    private Chunk parseChunk(FileChannel channel, long start, long end, int columnCount) throws IOException {
+        Chunk chunk = new Chunk(start, columnCount);
+        if (start >= end) {
+            return chunk;
+        }
+        
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        byte[] field = new byte[64];
+        double[] row = new double[columnCount];
+        int column = 0;
+        int length = 0;
+        boolean emptyLine = true;
+        long lineStart = start;
+        
+        int limit = buffer.limit();
+        for (int pos = 0; pos <= limit; pos++) {
+            byte b = (pos < limit) ? buffer.get(pos) : (byte) '\n';
+            if (b == '\n' || b == separator) {
+                if (b == '\n' && emptyLine && column == 0) {
+                    length = 0;
+                    lineStart = start + pos + 1;
+                    continue;
+                }
+                if (column >= columnCount) {
+                    throw new IOException("Too many columns in line at byte " + lineStart);
+                }
+                row[column++] = parseField(field, length, lineStart);
+                length = 0;
+                if (b == '\n') {
+                    if (column != columnCount) {
+                        throw new IOException("Expected " + columnCount + " columns in line at byte " + lineStart);
+                    }
+                    if (chunk.rows > 0 && row[0] <= chunk.columns[0][chunk.rows - 1]) {
+                        throw new IOException("X values must be strictly increasing (violated at byte " 
+                            + lineStart + ")");
+                    }
+                    chunk.add(row);
+                    column = 0;
+                    emptyLine = true;
+                    lineStart = start + pos + 1;
+                }
+            } else {
+                // Пробельные символы сохраняются и отбрасываются только по краям поля
+                if (length == field.length) {
+                    field = Arrays.copyOf(field, length * 2);
+                }
+                field[length++] = b;
+                if (!isWhitespace(b)) {
+                    emptyLine = false;
+                }
+            }
+        }
+        return chunk;
+    }
+    
+    private static double parseField(byte[] field, int length, long lineStart) throws IOException {
+        int from = 0;
+        while (from < length && isWhitespace(field[from])) {
+            from++;
+        }
+        while (length > from && isWhitespace(field[length - 1])) {
+            length--;
+        }
+        String text = new String(field, from, length - from, StandardCharsets.ISO_8859_1);
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid number '" + text + "' in line at byte " + lineStart, e);
+        }
+    }
+    
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+    
+    private static boolean isNumber(String text) {
+        try {
+            Double.parseDouble(text);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+    
+    /**
+     * Позиция начала первой строки, начинающейся не раньше position
+     */
+    private static long findLineStart(FileChannel channel, long position, long size) throws IOException {
+        return (position == 0) ? 0 : nextLineStart(channel, position - 1, size);
+    }
+    
+    /**
+     * Позиция, следующая за первым переводом строки начиная с position
+     */
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long current = position;
+        while (current < size) {
+            buffer.clear();
+            int read = channel.read(buffer, current);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return current + i + 1;
+                }
+            }
+            current += read;
+        }
+        return size;
+    }
+    
+    private static String readLine(FileChannel channel, long position) throws IOException {
+        long end = nextLineStart(channel, position, channel.size());
+        if (end <= position) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(end - position, 1 << 20));
+        channel.read(buffer, position);
+        String line = new String(buffer.array(), 0, buffer.position(), StandardCharsets.ISO_8859_1).trim();
+        return line.isEmpty() ? null : line;
+    }
+    
+    /**
+     * Результат разбора одного фрагмента
+     */
+    private static class Chunk {
+        final long start;
+        final double[][] columns;
+        int rows;
+        
+        Chunk(long start, int columnCount) {
+            this.start = start;
+            this.columns = new double[columnCount][16];
+        }
+        
+        void add(double[] row) {
+            if (rows == columns[0].length) {
+                for (int c = 0; c < columns.length; c++) {
+                    columns[c] = Arrays.copyOf(columns[c], rows * 2);
+                }
+            }
+            for (int c = 0; c < columns.length; c++) {
+                columns[c][rows] = row[c];
+            }
+            rows++;
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package functions;
 
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
 public class Functions {
     /**
      * Вычисление интеграла функции методом трапеций
@@ -11,56 +15,653 @@ public class Functions {
      * @throws IllegalArgumentException если интервал интегрирования выходит за границы области определения
      */
     public static double integrate(Function function, double leftBorder, double rightBorder, double discretizationStep) {
-        // Проверка области определения
-        if (leftBorder < function.getLeftDomainBorder() || rightBorder > function.getRightDomainBorder()) {
+        return integrateWithStatistics(function, leftBorder, rightBorder, discretizationStep).getValue();
+    }
+    
+    /**
+     * Количество шагов между проверками ограничений интегрирования
+     */
+    private static final long BUDGET_CHECK_INTERVAL = 4096;
+    
+    /**
+     * Вычисление интеграла методом трапеций с ограничениями (срок, количество
+     * вычислений функции, отмена, прерывание потока). Ограничения проверяются
+     * каждые несколько тысяч шагов вне внутреннего цикла. При остановке
+     * возвращается частичный интеграл от левой границы до достигнутого узла
+     * и состояние, указывающее причину остановки. Узлы, порядок суммирования
+     * и точное вычисление (см. exactIntegral()) те же, что и в integrate()
+     * @return значение интеграла, количество вычислений функции и состояние завершения
+     * @throws IllegalArgumentException если интервал интегрирования выходит за границы области определения
+     */
+    public static IntegrationResult integrate(Function function, double leftBorder, double rightBorder, 
+            double discretizationStep, IntegrationBudget budget) {
+        checkIntegrationArguments(function, leftBorder, rightBorder, discretizationStep);
+        
+        long stepCount = stepCount(leftBorder, rightBorder, discretizationStep);
+        long maxSteps = budget.getMaxEvaluations() - 1;
+        CompensatedSum sum = new CompensatedSum();
+        long i = 0;
+        double currentX = leftBorder;
+        IntegrationResult.Status status = budget.check();
+        if (status == IntegrationResult.Status.COMPLETED) {
+            Double exact = exactIntegral(function, leftBorder, rightBorder, discretizationStep);
+            if (exact != null) {
+                return new IntegrationResult(exact, 0.0, 0, status, rightBorder);
+            }
+        }
+        
+        try {
+            double fCurrent = function.getFunctionValue(currentX);
+            
+            while (i < stepCount && status == IntegrationResult.Status.COMPLETED) {
+                if (i >= maxSteps) {
+                    status = IntegrationResult.Status.EVALUATION_LIMIT_EXCEEDED;
+                    break;
+                }
+                long chunkEnd = Math.min(stepCount, i + Math.min(BUDGET_CHECK_INTERVAL, maxSteps - i));
+                
+                for (; i < chunkEnd; i++) {
+                    double nextX = nodeX(leftBorder, rightBorder, discretizationStep, stepCount, i + 1);
+                    double fNext = function.getFunctionValue(nextX);
+                    double trapezoidArea = (fCurrent + fNext) * (nextX - currentX) / 2.0;
+                    
+                    sum.add(trapezoidArea);
+                    
+                    currentX = nextX;
+                    fCurrent = fNext;
+                }
+                
+                status = budget.check();
+            }
+        } catch (IllegalArgumentException e) {
+            // Если функция не определена в какой-то точке
             throw new IllegalArgumentException(
-                String.format("Integration interval [%.2f, %.2f] is outside function domain [%.2f, %.2f]", 
-                    leftBorder, rightBorder, 
-                    function.getLeftDomainBorder(), function.getRightDomainBorder())
-            );
+                String.format("Function is not defined in interval [%.2f, %.2f]: %s", 
+                    currentX, nodeX(leftBorder, rightBorder, discretizationStep, stepCount, i + 1), 
+                    e.getMessage()));
+        }
+        
+        if (i == stepCount) {
+            status = IntegrationResult.Status.COMPLETED;
+        }
+        return new IntegrationResult(sum.getSum(), Double.NaN, i + 1, status, currentX);
+    }
+    
+    /**
+     * Вычисление интеграла выбранным методом (см. TrapezoidMethod, RombergMethod)
+     * @return значение интеграла, оценка погрешности и количество вычислений функции
+     * @throws IllegalArgumentException если интервал интегрирования выходит за границы области определения
+     */
+    public static IntegrationResult integrate(Function function, double leftBorder, double rightBorder, 
+            IntegrationMethod method) {
+        return method.integrate(function, leftBorder, rightBorder);
+    }
+    
+    /**
+     * Вычисление интеграла функции методом трапеций с подсчетом числа вычислений функции.
+     * Значение функции в каждом узле вычисляется один раз, узлы вычисляются
+     * по номеру шага (без накопления погрешности), а площади трапеций
+     * суммируются с компенсацией погрешности (алгоритм Ноймайера).
+     * Для табулированных функций и ChebyshevFunction возможно точное
+     * вычисление без узлов (см. exactIntegral())
+     * @return значение интеграла и количество вычислений функции
+     * @throws IllegalArgumentException если интервал интегрирования выходит за границы области определения
+     */
+    public static IntegrationResult integrateWithStatistics(Function function, double leftBorder, 
+            double rightBorder, double discretizationStep) {
+        checkIntegrationArguments(function, leftBorder, rightBorder, discretizationStep);
+        Double exact = exactIntegral(function, leftBorder, rightBorder, discretizationStep);
+        if (exact != null) {
+            return new IntegrationResult(exact, 0.0, 0);
+        }
+        
+        long stepCount = stepCount(leftBorder, rightBorder, discretizationStep);
+        double integral = trapezoidSum(function, leftBorder, rightBorder, discretizationStep, 
+            stepCount, 0, stepCount);
+        return new IntegrationResult(integral, stepCount + 1);
+    }
+    
+    /**
+     * Точное значение интеграла без вычисления функции в узлах: интеграл ряда
+     * для ChebyshevFunction и integrateExact() для табулированной функции при
+     * шаге мельче среднего расстояния между ее точками. Применяется во всех
+     * вариантах метода трапеций, поэтому их результаты совпадают
+     * @return значение интеграла или null, если точное вычисление не применяется
+     */
+    private static Double exactIntegral(Function function, double leftBorder, double rightBorder, 
+            double discretizationStep) {
+        // Ряд Чебышёва интегрируется точно по коэффициентам
+        if (function instanceof ChebyshevFunction) {
+            return ((ChebyshevFunction) function).integrate(leftBorder, rightBorder);
         }
         
+        // Шаг мельче среднего расстояния между точками таблицы: точное значение дешевле
+        if (function instanceof TabulatedFunction) {
+            TabulatedFunction tabulated = (TabulatedFunction) function;
+            double tableLength = tabulated.getRightDomainBorder() - tabulated.getLeftDomainBorder();
+            if (discretizationStep * (tabulated.getPointCount() - 1) < tableLength) {
+                return integrateExact(tabulated, leftBorder, rightBorder);
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Точное вычисление интеграла табулированной (кусочно-линейной) функции.
+     * Обходятся только отрезки таблицы, пересекающиеся с [leftBorder, rightBorder],
+     * на каждом из них интеграл линейной функции вычисляется по формуле трапеции
+     * @return значение интеграла
+     * @throws IllegalArgumentException если интервал интегрирования выходит за границы области определения
+     */
+    public static double integrateExact(TabulatedFunction function, double leftBorder, double rightBorder) {
+        checkIntegrationDomain(function, leftBorder, rightBorder);
+        checkIntegrationOrder(leftBorder, rightBorder);
+        
+        // Бинарный поиск отрезка, содержащего левую границу
+        int low = 0;
+        int high = function.getPointCount() - 2;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (function.getPointX(middle) <= leftBorder) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        
+        CompensatedSum sum = new CompensatedSum();
+        int lastSegment = function.getPointCount() - 2;
+        double x1 = function.getPointX(low);
+        double y1 = function.getPointY(low);
+        
+        for (int i = low; i <= lastSegment && x1 < rightBorder; i++) {
+            double x2 = function.getPointX(i + 1);
+            double y2 = function.getPointY(i + 1);
+            
+            double from = Math.max(leftBorder, x1);
+            double to = Math.min(rightBorder, x2);
+            if (to > from) {
+                double slope = (y2 - y1) / (x2 - x1);
+                double yFrom = (from == x1) ? y1 : y1 + slope * (from - x1);
+                double yTo = (to == x2) ? y2 : y1 + slope * (to - x1);
+                double trapezoidArea = (yFrom + yTo) * (to - from) / 2.0;
+                
+                sum.add(trapezoidArea);
+            }
+            
+            x1 = x2;
+            y1 = y2;
+        }
+        
+        return sum.getSum();
+    }
+    
+    /**
+     * Вычисление пакета интегралов одной функции методом трапеций.
+     * Узлы всех запросов перебираются слиянием в порядке возрастания (по одному
+     * текущему узлу на запрос), и функция вычисляется один раз в каждом
+     * различном узле, поэтому совпадающие узлы пересекающихся запросов
+     * не вычисляются повторно, а дополнительная память пропорциональна числу
+     * запросов. Узлы, порядок суммирования и точное вычисление (см. exactIntegral())
+     * каждого запроса те же, что и в integrate(), поэтому результаты совпадают
+     * @param leftBorders левые границы интегрирования
+     * @param rightBorders правые границы интегрирования
+     * @param discretizationSteps шаги дискретизации
+     * @return значения интегралов в порядке запросов
+     * @throws IllegalArgumentException если массивы разной длины или какой-либо
+     *         интервал интегрирования выходит за границы области определения
+     */
+    public static double[] integrateBatch(Function function, double[] leftBorders, double[] rightBorders, 
+            double[] discretizationSteps) {
+        int queryCount = leftBorders.length;
+        if (rightBorders.length != queryCount || discretizationSteps.length != queryCount) {
+            throw new IllegalArgumentException("Arrays of borders and steps must have the same length");
+        }
+        for (int q = 0; q < queryCount; q++) {
+            checkIntegrationArguments(function, leftBorders[q], rightBorders[q], discretizationSteps[q]);
+        }
+        
+        double[] results = new double[queryCount];
+        PriorityQueue<BatchQuery> queries = new PriorityQueue<>();
+        for (int q = 0; q < queryCount; q++) {
+            Double exact = exactIntegral(function, leftBorders[q], rightBorders[q], discretizationSteps[q]);
+            if (exact != null) {
+                results[q] = exact;
+            } else {
+                queries.add(new BatchQuery(q, leftBorders[q], rightBorders[q], discretizationSteps[q]));
+            }
+        }
+        
+        // Узлы извлекаются по возрастанию; совпадающие (с учетом знака нуля) узлы
+        // разных запросов идут подряд и используют одно значение функции
+        double lastX = Double.NaN;
+        double lastY = Double.NaN;
+        boolean evaluated = false;
+        while (!queries.isEmpty()) {
+            BatchQuery query = queries.poll();
+            double x = query.nextX;
+            if (!evaluated || Double.compare(x, lastX) != 0) {
+                try {
+                    lastY = function.getFunctionValue(x);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException(
+                        String.format("Function is not defined at %.2f: %s", x, e.getMessage()));
+                }
+                lastX = x;
+                evaluated = true;
+            }
+            
+            if (query.advance(lastY)) {
+                queries.add(query);
+            } else {
+                results[query.index] = query.sum.getSum();
+            }
+        }
+        
+        return results;
+    }
+    
+    /**
+     * Состояние запроса пакетного интегрирования: следующий узел и накопленная
+     * сумма трапеций. Упорядочивается по следующему узлу
+     */
+    private static class BatchQuery implements Comparable<BatchQuery> {
+        final int index;
+        final CompensatedSum sum = new CompensatedSum();
+        private final double leftBorder;
+        private final double rightBorder;
+        private final double discretizationStep;
+        private final long stepCount;
+        
+        // Номер и координата следующего узла, значение функции в предыдущем узле
+        private long step;
+        double nextX;
+        private double currentX;
+        private double fCurrent;
+        
+        BatchQuery(int index, double leftBorder, double rightBorder, double discretizationStep) {
+            this.index = index;
+            this.leftBorder = leftBorder;
+            this.rightBorder = rightBorder;
+            this.discretizationStep = discretizationStep;
+            this.stepCount = stepCount(leftBorder, rightBorder, discretizationStep);
+            this.nextX = leftBorder;
+        }
+        
+        /**
+         * Учет значения функции в следующем узле
+         * @return false, если узлов больше нет
+         */
+        boolean advance(double fNext) {
+            if (step > 0) {
+                sum.add((fCurrent + fNext) * (nextX - currentX) / 2.0);
+            }
+            currentX = nextX;
+            fCurrent = fNext;
+            if (step == stepCount) {
+                return false;
+            }
+            step++;
+            nextX = nodeX(leftBorder, rightBorder, discretizationStep, stepCount, step);
+            return true;
+        }
+        
+        @Override
+        public int compareTo(BatchQuery other) {
+            return Double.compare(nextX, other.nextX);
+        }
+    }
+    
+    /**
+     * Размер блока узлов при блочном интегрировании
+     */
+    private static final int BLOCK_SIZE = 1024;
+    
+    /**
+     * Вычисление интеграла методом трапеций блоками узлов.
+     * Значения функции вычисляются сразу для блока узлов через BatchFunction
+     * (для остальных функций - поэлементно), что убирает вызов через интерфейс
+     * для каждого узла и позволяет JIT-компилятору векторизовать простые циклы.
+     * Узлы, порядок суммирования и точное вычисление (см. exactIntegral())
+     * те же, что и в integrate(), поэтому результат совпадает
+     * @return значение интеграла
+     * @throws IllegalArgumentException если интервал интегрирования выходит за границы области определения
+     */
+    public static double integrateBlocked(Function function, double leftBorder, double rightBorder, 
+            double discretizationStep) {
+        checkIntegrationArguments(function, leftBorder, rightBorder, discretizationStep);
+        Double exact = exactIntegral(function, leftBorder, rightBorder, discretizationStep);
+        if (exact != null) {
+            return exact;
+        }
+        
+        long stepCount = stepCount(leftBorder, rightBorder, discretizationStep);
+        double[] xValues = new double[BLOCK_SIZE + 1];
+        double[] yValues = new double[BLOCK_SIZE + 1];
+        CompensatedSum sum = new CompensatedSum();
+        
+        // Каждый блок начинается с последнего узла предыдущего блока
+        for (long from = 0; from < stepCount; from += BLOCK_SIZE) {
+            int count = (int) Math.min(BLOCK_SIZE, stepCount - from) + 1;
+            for (int i = 0; i < count; i++) {
+                xValues[i] = nodeX(leftBorder, rightBorder, discretizationStep, stepCount, from + i);
+            }
+            
+            try {
+                evaluate(function, xValues, yValues, count);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                    String.format("Function is not defined in interval [%.2f, %.2f]: %s", 
+                        xValues[0], xValues[count - 1], e.getMessage()));
+            }
+            
+            for (int i = 1; i < count; i++) {
+                double trapezoidArea = (yValues[i - 1] + yValues[i]) * (xValues[i] - xValues[i - 1]) / 2.0;
+                sum.add(trapezoidArea);
+            }
+        }
+        
+        return sum.getSum();
+    }
+    
+    /**
+     * Вычисление значений функции для массива аргументов: через BatchFunction,
+     * если функция его реализует, иначе поэлементно
+     */
+    public static void evaluate(Function function, double[] xValues, double[] yValues, int count) {
+        if (function instanceof BatchFunction) {
+            ((BatchFunction) function).getFunctionValues(xValues, yValues, count);
+        } else {
+            for (int i = 0; i < count; i++) {
+                yValues[i] = function.getFunctionValue(xValues[i]);
+            }
+        }
+    }
+    
+    /**
+     * Параллельное вычисление интеграла методом трапеций (fork-join).
+     * Шаги разбиения и точное вычисление (см. exactIntegral()) те же,
+     * что и в integrate(); диапазоны шагов делятся
+     * пополам до фиксированного порога, а частичные суммы складываются
+     * в порядке, зависящем только от числа шагов, поэтому результат
+     * воспроизводим при любом числе потоков. Функция должна допускать
+     * одновременное вычисление из нескольких потоков
+     * @return значение интеграла
+     * @throws IllegalArgumentException если интервал интегрирования выходит за границы области определения
+     */
+    public static double integrateParallel(Function function, double leftBorder, double rightBorder, 
+            double discretizationStep) {
+        checkIntegrationArguments(function, leftBorder, rightBorder, discretizationStep);
+        Double exact = exactIntegral(function, leftBorder, rightBorder, discretizationStep);
+        if (exact != null) {
+            return exact;
+        }
+        
+        long stepCount = stepCount(leftBorder, rightBorder, discretizationStep);
+        return ForkJoinPool.commonPool().invoke(new TrapezoidTask(
+            function, leftBorder, rightBorder, discretizationStep, stepCount, 0, stepCount));
+    }
+    
+    /**
+     * Задача суммирования трапеций с номерами шагов из [fromStep, toStep)
+     */
+    private static class TrapezoidTask extends RecursiveTask<Double> {
+        private static final long serialVersionUID = 1L;
+        
+        private static final long SEQUENTIAL_THRESHOLD = 1 << 14;
+        
+        private final Function function;
+        private final double leftBorder;
+        private final double rightBorder;
+        private final double discretizationStep;
+        private final long stepCount;
+        private final long fromStep;
+        private final long toStep;
+        
+        TrapezoidTask(Function function, double leftBorder, double rightBorder, double discretizationStep,
+                long stepCount, long fromStep, long toStep) {
+            this.function = function;
+            this.leftBorder = leftBorder;
+            this.rightBorder = rightBorder;
+            this.discretizationStep = discretizationStep;
+            this.stepCount = stepCount;
+            this.fromStep = fromStep;
+            this.toStep = toStep;
+        }
+        
+        @Override
+        protected Double compute() {
+            if (toStep - fromStep <= SEQUENTIAL_THRESHOLD) {
+                return trapezoidSum(function, leftBorder, rightBorder, discretizationStep, 
+                    stepCount, fromStep, toStep);
+            }
+            
+            long middle = fromStep + (toStep - fromStep) / 2;
+            TrapezoidTask leftPart = new TrapezoidTask(function, leftBorder, rightBorder, 
+                discretizationStep, stepCount, fromStep, middle);
+            TrapezoidTask rightPart = new TrapezoidTask(function, leftBorder, rightBorder, 
+                discretizationStep, stepCount, middle, toStep);
+            leftPart.fork();
+            double rightSum = rightPart.compute();
+            // Порядок сложения фиксирован: левая часть + правая часть
+            return leftPart.join() + rightSum;
+        }
+    }
+    
+    /**
+     * Адаптивное интегрирование по формуле Гаусса-Кронрода (7 и 15 узлов).
+     * Отрезок с наибольшей оценкой погрешности делится пополам, пока суммарная
+     * погрешность не станет меньше max(absoluteTolerance, relativeTolerance * |I|)
+     * или число отрезков не достигнет предела. Функция вычисляется только во
+     * внутренних точках отрезков, поэтому границы области определения допустимы
+     * @param absoluteTolerance допустимая абсолютная погрешность
+     * @param relativeTolerance допустимая относительная погрешность
+     * @return значение интеграла, оценка погрешности и количество вычислений функции;
+     *         если точность не достигнута, оценка погрешности больше допустимой
+     * @throws IllegalArgumentException если интервал интегрирования выходит за границы области определения
+     */
+    public static IntegrationResult integrateAdaptive(Function function, double leftBorder, double rightBorder,
+            double absoluteTolerance, double relativeTolerance) {
+        checkIntegrationDomain(function, leftBorder, rightBorder);
+        if (!(absoluteTolerance >= 0) || !(relativeTolerance >= 0)) {
+            throw new IllegalArgumentException(
+                String.format("Tolerances must be non-negative (got %.3e, %.3e)", absoluteTolerance, relativeTolerance));
+        }
+        checkIntegrationOrder(leftBorder, rightBorder);
+        
+        PriorityQueue<GaussKronrodSegment> segments = new PriorityQueue<>();
+        GaussKronrodSegment first = new GaussKronrodSegment(function, leftBorder, rightBorder);
+        segments.add(first);
+        double value = first.value;
+        double error = first.error;
+        long evaluations = GaussKronrodSegment.EVALUATIONS;
+        
+        while (error > Math.max(absoluteTolerance, relativeTolerance * Math.abs(value)) 
+                && segments.size() < MAX_ADAPTIVE_SEGMENTS) {
+            GaussKronrodSegment worst = segments.poll();
+            double middle = (worst.left + worst.right) / 2.0;
+            if (middle <= worst.left || middle >= worst.right) {
+                // Отрезок больше не делится в арифметике double
+                segments.add(worst);
+                break;
+            }
+            GaussKronrodSegment leftHalf = new GaussKronrodSegment(function, worst.left, middle);
+            GaussKronrodSegment rightHalf = new GaussKronrodSegment(function, middle, worst.right);
+            segments.add(leftHalf);
+            segments.add(rightHalf);
+            evaluations += 2 * GaussKronrodSegment.EVALUATIONS;
+            
+            value += leftHalf.value + rightHalf.value - worst.value;
+            error += leftHalf.error + rightHalf.error - worst.error;
+        }
+        
+        // Итоговые суммы пересчитываются заново, без накопленной погрешности
+        CompensatedSum sum = new CompensatedSum();
+        double totalError = 0.0;
+        for (GaussKronrodSegment segment : segments) {
+            sum.add(segment.value);
+            totalError += segment.error;
+        }
+        
+        return new IntegrationResult(sum.getSum(), totalError, evaluations);
+    }
+    
+    /**
+     * Максимальное число отрезков адаптивного интегрирования
+     */
+    private static final int MAX_ADAPTIVE_SEGMENTS = 10000;
+    
+    /**
+     * Отрезок адаптивного интегрирования с оценками по формулам Гаусса (7 узлов)
+     * и Кронрода (15 узлов). Упорядочивается по убыванию погрешности
+     */
+    private static class GaussKronrodSegment implements Comparable<GaussKronrodSegment> {
+        static final int EVALUATIONS = 15;
+        
+        // Узлы Кронрода на [-1, 1]; узлы с нечетными номерами - узлы Гаусса
+        private static final double[] NODES = {
+            0.991455371120812639206854697526329, 0.949107912342758524526189684047851,
+            0.864864423359769072789712788640926, 0.741531185599394439863864773280788,
+            0.586087235467691130294144845693013, 0.405845151377397166906606412076961,
+            0.207784955007898467600689403773245, 0.0
+        };
+        private static final double[] KRONROD_WEIGHTS = {
+            0.022935322010529224963732008058970, 0.063092092629978553290700663189204,
+            0.104790010322250183839876322541518, 0.140653259715525918745189590510238,
+            0.169004726639267902826583426598550, 0.190350578064785409913256402421014,
+            0.204432940075298892414161999234649, 0.209482141084727828012999174891714
+        };
+        private static final double[] GAUSS_WEIGHTS = {
+            0.129484966168869693270611432679082, 0.279705391489276667901467771423780,
+            0.381830050505118944950369775488975, 0.417959183673469387755102040816327
+        };
+        
+        final double left;
+        final double right;
+        final double value;
+        final double error;
+        
+        GaussKronrodSegment(Function function, double left, double right) {
+            this.left = left;
+            this.right = right;
+            
+            double center = (left + right) / 2.0;
+            double halfLength = (right - left) / 2.0;
+            double fCenter = function.getFunctionValue(center);
+            double kronrod = KRONROD_WEIGHTS[7] * fCenter;
+            double gauss = GAUSS_WEIGHTS[3] * fCenter;
+            
+            for (int i = 0; i < 7; i++) {
+                double offset = halfLength * NODES[i];
+                double pairSum = function.getFunctionValue(center - offset) 
+                    + function.getFunctionValue(center + offset);
+                kronrod += KRONROD_WEIGHTS[i] * pairSum;
+                if (i % 2 == 1) {
+                    gauss += GAUSS_WEIGHTS[i / 2] * pairSum;
+                }
+            }
+            
+            this.value = kronrod * halfLength;
+            this.error = Math.abs((kronrod - gauss) * halfLength);
+        }
+        
+        @Override
+        public int compareTo(GaussKronrodSegment other) {
+            return Double.compare(other.error, error);
+        }
+    }
+    
+    /**
+     * Проверка аргументов интегрирования
+     */
+    private static void checkIntegrationArguments(Function function, double leftBorder, 
+            double rightBorder, double discretizationStep) {
+        checkIntegrationDomain(function, leftBorder, rightBorder);
+        
         if (discretizationStep <= 0) {
             throw new IllegalArgumentException(
                 String.format("Discretization step must be positive (got %.6f)", discretizationStep));
         }
         
+        checkIntegrationOrder(leftBorder, rightBorder);
+    }
+    
+    /**
+     * Проверка области определения
+     */
+    static void checkIntegrationDomain(Function function, double leftBorder, double rightBorder) {
+        if (leftBorder < function.getLeftDomainBorder() || rightBorder > function.getRightDomainBorder()) {
+            throw new IllegalArgumentException(
+                String.format("Integration interval [%.2f, %.2f] is outside function domain [%.2f, %.2f]", 
+                    leftBorder, rightBorder, 
+                    function.getLeftDomainBorder(), function.getRightDomainBorder())
+            );
+        }
+    }
+    
+    /**
+     * Проверка порядка границ интегрирования
+     */
+    static void checkIntegrationOrder(double leftBorder, double rightBorder) {
         if (leftBorder >= rightBorder) {
             throw new IllegalArgumentException(
                 String.format("Left border (%.2f) must be less than right border (%.2f)", 
                     leftBorder, rightBorder));
         }
+    }
+    
+    /**
+     * Количество шагов разбиения (последний шаг может быть короче)
+     */
+    private static long stepCount(double leftBorder, double rightBorder, double discretizationStep) {
+        return Math.max(1, (long) Math.ceil((rightBorder - leftBorder) / discretizationStep));
+    }
+    
+    /**
+     * Узел разбиения с номером index
+     */
+    private static double nodeX(double leftBorder, double rightBorder, double discretizationStep, 
+            long stepCount, long index) {
+        return (index >= stepCount) ? rightBorder : leftBorder + index * discretizationStep;
+    }
+    
+    /**
+     * Сумма площадей трапеций с номерами шагов из [fromStep, toStep)
+     */
+    private static double trapezoidSum(Function function, double leftBorder, double rightBorder, 
+            double discretizationStep, long stepCount, long fromStep, long toStep) {
+        CompensatedSum sum = new CompensatedSum();
+        long i = fromStep;
+        double currentX = nodeX(leftBorder, rightBorder, discretizationStep, stepCount, i);
         
-        double integral = 0.0;
-        double currentX = leftBorder;
-        
-        while (currentX < rightBorder) {
-            double nextX = Math.min(currentX + discretizationStep, rightBorder);
+        try {
+            double fCurrent = function.getFunctionValue(currentX);
             
-            try {
-                double fCurrent = function.getFunctionValue(currentX);
+            for (; i < toStep; i++) {
+                double nextX = nodeX(leftBorder, rightBorder, discretizationStep, stepCount, i + 1);
                 double fNext = function.getFunctionValue(nextX);
-                
                 double trapezoidArea = (fCurrent + fNext) * (nextX - currentX) / 2.0;
-                integral += trapezoidArea;
                 
-            } catch (IllegalArgumentException e) {
-                // Если функция не определена в какой-то точке
-                throw new IllegalArgumentException(
-                    String.format("Function is not defined in interval [%.2f, %.2f]: %s", 
-                        currentX, nextX, e.getMessage()));
+                sum.add(trapezoidArea);
+                
+                currentX = nextX;
+                fCurrent = fNext;
             }
-            
-            currentX = nextX;
+        } catch (IllegalArgumentException e) {
+            // Если функция не определена в какой-то точке
+            throw new IllegalArgumentException(
+                String.format("Function is not defined in interval [%.2f, %.2f]: %s", 
+                    currentX, nodeX(leftBorder, rightBorder, discretizationStep, stepCount, i + 1), 
+                    e.getMessage()));
         }
         
-        return integral;
+        return sum.getSum();
     }
     
     /**
      * Экспоненциальная функция e^x
      */
-    public static class ExpFunction implements Function {
+    public static class ExpFunction implements BatchFunction {
         @Override
         public double getLeftDomainBorder() {
             return Double.NEGATIVE_INFINITY;
@@ -76,6 +677,13 @@ public class Functions {
             return Math.exp(x);
         }
         
+        @Override
+        public void getFunctionValues(double[] xValues, double[] yValues, int count) {
+            for (int i = 0; i < count; i++) {
+                yValues[i] = Math.exp(xValues[i]);
+            }
+        }
+        
         @Override
         public String toString() {
             return "e^x";
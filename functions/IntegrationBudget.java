@@ -0,0 +1,63 @@
+package functions;
+
+/**
+ * Ограничения интегрирования: срок завершения, максимальное количество
+ * вычислений функции и признак отмены. Ограничения проверяются периодически,
+ * а не на каждом шаге; прерывание потока также останавливает интегрирование
+ */
+public class IntegrationBudget {
+    private final long deadlineNanos;
+    private final long maxEvaluations;
+    private final CancellationToken cancellationToken;
+    
+    /**
+     * @param timeoutMillis допустимое время с момента создания, мс (Long.MAX_VALUE - без ограничения)
+     * @param maxEvaluations максимальное количество вычислений функции (Long.MAX_VALUE - без ограничения)
+     * @param cancellationToken признак отмены (может быть null)
+     */
+    public IntegrationBudget(long timeoutMillis, long maxEvaluations, CancellationToken cancellationToken) {
+        if (timeoutMillis < 0) {
+            throw new IllegalArgumentException("Timeout must be non-negative (got " + timeoutMillis + ")");
+        }
+        if (maxEvaluations < 2) {
+            throw new IllegalArgumentException("At least 2 evaluations must be allowed (got " + maxEvaluations + ")");
+        }
+        long timeoutNanos = (timeoutMillis >= Long.MAX_VALUE / 1_000_000) 
+            ? Long.MAX_VALUE : timeoutMillis * 1_000_000;
+        this.deadlineNanos = (timeoutNanos == Long.MAX_VALUE) ? Long.MAX_VALUE : System.nanoTime() + timeoutNanos;
+        this.maxEvaluations = maxEvaluations;
+        this.cancellationToken = cancellationToken;
+    }
+    
+    /**
+     * Бюджет без ограничений (интегрирование останавливается только прерыванием потока)
+     */
+    public static IntegrationBudget unlimited() {
+        return new IntegrationBudget(Long.MAX_VALUE, Long.MAX_VALUE, null);
+    }
+    
+    public long getMaxEvaluations() {
+        return maxEvaluations;
+    }
+    
+    public CancellationToken getCancellationToken() {
+        return cancellationToken;
+    }
+    
+    /**
+     * Проверка ограничений, кроме количества вычислений
+     * @return причина остановки или COMPLETED, если продолжать можно
+     */
+    IntegrationResult.Status check() {
+        if (cancellationToken != null && cancellationToken.isCancelled()) {
+            return IntegrationResult.Status.CANCELLED;
+        }
+        if (Thread.currentThread().isInterrupted()) {
+            return IntegrationResult.Status.INTERRUPTED;
+        }
+        if (deadlineNanos != Long.MAX_VALUE && System.nanoTime() - deadlineNanos > 0) {
+            return IntegrationResult.Status.DEADLINE_EXCEEDED;
+        }
+        return IntegrationResult.Status.COMPLETED;
+    }
+}
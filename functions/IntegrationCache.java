@@ -0,0 +1,168 @@
+package functions;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Потокобезопасный кэш результатов Functions.integrate() с вытеснением
+ * давно не использованных записей (LRU). Ключ - функция (по equals/hashCode)
+ * и параметры интегрирования. Один кэш можно использовать из нескольких
+ * потоков-интеграторов одновременно. Изменяемые функции (например,
+ * табулированные) нельзя изменять, пока они используются как ключи
+ */
+public class IntegrationCache {
+    private final int maxEntries;
+    private final Map<Key, Double> entries;
+    
+    private long hits;
+    private long misses;
+    private long evictions;
+    
+    /**
+     * @param maxEntries максимальное количество хранимых результатов
+     */
+    public IntegrationCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Cache size must be positive (got " + maxEntries + ")");
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<Key, Double>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Double> eldest) {
+                if (size() > IntegrationCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+    
+    /**
+     * Вычисление интеграла с использованием кэша (см. Functions.integrate()).
+     * Интеграл вычисляется вне блокировки, поэтому медленные вычисления
+     * не задерживают другие потоки; ошибки вычисления не кэшируются
+     */
+    public double integrate(Function function, double leftBorder, double rightBorder, double discretizationStep) {
+        Key key = new Key(function, leftBorder, rightBorder, discretizationStep);
+        synchronized (this) {
+            Double cached = entries.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+        
+        double result = Functions.integrate(function, leftBorder, rightBorder, discretizationStep);
+        synchronized (this) {
+            entries.put(key, result);
+        }
+        return result;
+    }
+    
+    /**
+     * Вычисление интеграла с использованием кэша и ограничений
+     * (см. Functions.integrate() с IntegrationBudget). В кэш попадают только
+     * полностью вычисленные интегралы; при остановке по ограничению
+     * возвращается частичный результат, который не кэшируется
+     */
+    public IntegrationResult integrate(Function function, double leftBorder, double rightBorder, 
+            double discretizationStep, IntegrationBudget budget) {
+        Key key = new Key(function, leftBorder, rightBorder, discretizationStep);
+        synchronized (this) {
+            Double cached = entries.get(key);
+            if (cached != null) {
+                hits++;
+                return new IntegrationResult(cached, 0);
+            }
+            misses++;
+        }
+        
+        IntegrationResult result = Functions.integrate(function, leftBorder, rightBorder, discretizationStep, budget);
+        if (result.isCompleted()) {
+            synchronized (this) {
+                entries.put(key, result.getValue());
+            }
+        }
+        return result;
+    }
+    
+    public synchronized long getHits() {
+        return hits;
+    }
+    
+    public synchronized long getMisses() {
+        return misses;
+    }
+    
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+    
+    /**
+     * Доля попаданий в кэш (0, если обращений не было)
+     */
+    public synchronized double getHitRate() {
+        long requests = hits + misses;
+        return (requests == 0) ? 0.0 : (double) hits / requests;
+    }
+    
+    public synchronized int size() {
+        return entries.size();
+    }
+    
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+    
+    /**
+     * Очистка кэша (статистика сохраняется)
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+    
+    @Override
+    public synchronized String toString() {
+        return String.format("IntegrationCache[size=%d/%d, hits=%d, misses=%d, evictions=%d]", 
+            entries.size(), maxEntries, hits, misses, evictions);
+    }
+    
+    /**
+     * Ключ кэша: функция и параметры интегрирования
+     */
+    private static class Key {
+        private final Function function;
+        private final double leftBorder;
+        private final double rightBorder;
+        private final double discretizationStep;
+        
+        Key(Function function, double leftBorder, double rightBorder, double discretizationStep) {
+            this.function = function;
+            this.leftBorder = leftBorder;
+            this.rightBorder = rightBorder;
+            this.discretizationStep = discretizationStep;
+        }
+        
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key)) return false;
+            Key that = (Key) obj;
+            return Double.compare(leftBorder, that.leftBorder) == 0
+                && Double.compare(rightBorder, that.rightBorder) == 0
+                && Double.compare(discretizationStep, that.discretizationStep) == 0
+                && function.equals(that.function);
+        }
+        
+        @Override
+        public int hashCode() {
+            int result = function.hashCode();
+            result = 31 * result + Double.hashCode(leftBorder);
+            result = 31 * result + Double.hashCode(rightBorder);
+            result = 31 * result + Double.hashCode(discretizationStep);
+            return result;
+        }
+    }
+}
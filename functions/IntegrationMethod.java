@@ -0,0 +1,12 @@
+package functions;
+
+/**
+ * Метод численного интегрирования (паттерн "Стратегия")
+ */
+public interface IntegrationMethod {
+    /**
+     * Вычисление интеграла функции на отрезке [leftBorder, rightBorder]
+     * @throws IllegalArgumentException если интервал интегрирования выходит за границы области определения
+     */
+    IntegrationResult integrate(Function function, double leftBorder, double rightBorder);
+}
@@ -0,0 +1,103 @@
+package functions;
+
+/**
+ * Результат численного интегрирования: значение интеграла, оценка
+ * абсолютной погрешности, количество вычислений интегрируемой функции
+ * и состояние завершения
+ */
+public class IntegrationResult {
+    /**
+     * Состояние завершения интегрирования
+     */
+    public enum Status {
+        /** Интегрирование выполнено полностью */
+        COMPLETED,
+        /** Истек допустимый срок */
+        DEADLINE_EXCEEDED,
+        /** Исчерпан лимит вычислений функции */
+        EVALUATION_LIMIT_EXCEEDED,
+        /** Интегрирование отменено через CancellationToken */
+        CANCELLED,
+        /** Поток был прерван */
+        INTERRUPTED
+    }
+    
+    private final double value;
+    private final double errorEstimate;
+    private final long evaluations;
+    private final Status status;
+    private final double reachedBorder;
+    
+    /**
+     * Результат без оценки погрешности
+     */
+    public IntegrationResult(double value, long evaluations) {
+        this(value, Double.NaN, evaluations);
+    }
+    
+    public IntegrationResult(double value, double errorEstimate, long evaluations) {
+        this(value, errorEstimate, evaluations, Status.COMPLETED, Double.NaN);
+    }
+    
+    /**
+     * @param status состояние завершения
+     * @param reachedBorder правая граница фактически проинтегрированного отрезка
+     */
+    public IntegrationResult(double value, double errorEstimate, long evaluations, 
+            Status status, double reachedBorder) {
+        this.value = value;
+        this.errorEstimate = errorEstimate;
+        this.evaluations = evaluations;
+        this.status = status;
+        this.reachedBorder = reachedBorder;
+    }
+    
+    /**
+     * Значение интеграла (при неполном интегрировании - по отрезку
+     * от левой границы до getReachedBorder())
+     */
+    public double getValue() {
+        return value;
+    }
+    
+    /**
+     * Оценка абсолютной погрешности (NaN, если метод ее не дает)
+     */
+    public double getErrorEstimate() {
+        return errorEstimate;
+    }
+    
+    public long getEvaluations() {
+        return evaluations;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public boolean isCompleted() {
+        return status == Status.COMPLETED;
+    }
+    
+    /**
+     * Правая граница фактически проинтегрированного отрезка
+     * (NaN, если метод ее не отслеживает)
+     */
+    public double getReachedBorder() {
+        return reachedBorder;
+    }
+    
+    @Override
+    public String toString() {
+        String result;
+        if (Double.isNaN(errorEstimate)) {
+            result = String.format("%s (evaluations: %d)", value, evaluations);
+        } else {
+            result = String.format("%s +- %s (evaluations: %d)", value, errorEstimate, evaluations);
+        }
+        if (status != Status.COMPLETED) {
+            result += String.format(" [%s at %s]", status, reachedBorder);
+        }
+        return result;
+    }
+}
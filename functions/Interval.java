@@ -0,0 +1,199 @@
+package functions;
+
+/**
+ * Отрезок [lower, upper] для интервальной арифметики. Результаты операций
+ * округляются наружу (нижняя граница вниз, верхняя вверх на 1 ulp), поэтому
+ * точный результат над любыми точками отрезков-аргументов всегда лежит
+ * в результате. Пустой отрезок (EMPTY) соответствует отсутствию значений
+ */
+public final class Interval {
+    public static final Interval EMPTY = new Interval(Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, true);
+    public static final Interval ENTIRE = new Interval(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+    
+    private final double lower;
+    private final double upper;
+    
+    public Interval(double lower, double upper) {
+        if (!(lower <= upper)) {
+            throw new IllegalArgumentException(
+                String.format("Invalid interval [%s, %s]: lower must not exceed upper", lower, upper));
+        }
+        this.lower = lower;
+        this.upper = upper;
+    }
+    
+    private Interval(double lower, double upper, boolean empty) {
+        this.lower = lower;
+        this.upper = upper;
+    }
+    
+    public static Interval point(double x) {
+        return Double.isNaN(x) ? EMPTY : new Interval(x, x);
+    }
+    
+    /**
+     * Отрезок между a и b (в любом порядке), расширенный наружу на 1 ulp
+     */
+    public static Interval rounded(double a, double b) {
+        return new Interval(down(Math.min(a, b)), up(Math.max(a, b)));
+    }
+    
+    public double getLower() {
+        return lower;
+    }
+    
+    public double getUpper() {
+        return upper;
+    }
+    
+    public boolean isEmpty() {
+        return this == EMPTY;
+    }
+    
+    public boolean contains(double x) {
+        return x >= lower && x <= upper;
+    }
+    
+    public double width() {
+        return isEmpty() ? 0 : upper - lower;
+    }
+    
+    /**
+     * Наименьший отрезок, содержащий оба отрезка
+     */
+    public Interval hull(Interval other) {
+        if (isEmpty()) {
+            return other;
+        }
+        if (other.isEmpty()) {
+            return this;
+        }
+        return new Interval(Math.min(lower, other.lower), Math.max(upper, other.upper));
+    }
+    
+    public Interval intersect(double otherLower, double otherUpper) {
+        double newLower = Math.max(lower, otherLower);
+        double newUpper = Math.min(upper, otherUpper);
+        return (isEmpty() || !(newLower <= newUpper)) ? EMPTY : new Interval(newLower, newUpper);
+    }
+    
+    public Interval add(Interval other) {
+        if (isEmpty() || other.isEmpty()) {
+            return EMPTY;
+        }
+        return new Interval(down(lower + other.lower), up(upper + other.upper));
+    }
+    
+    public Interval add(double value) {
+        return add(point(value));
+    }
+    
+    public Interval multiply(Interval other) {
+        if (isEmpty() || other.isEmpty()) {
+            return EMPTY;
+        }
+        double p1 = product(lower, other.lower);
+        double p2 = product(lower, other.upper);
+        double p3 = product(upper, other.lower);
+        double p4 = product(upper, other.upper);
+        return new Interval(down(Math.min(Math.min(p1, p2), Math.min(p3, p4))),
+            up(Math.max(Math.max(p1, p2), Math.max(p3, p4))));
+    }
+    
+    public Interval multiply(double value) {
+        return multiply(point(value));
+    }
+    
+    /**
+     * Деление на число, отличное от нуля
+     */
+    public Interval divide(double value) {
+        if (isEmpty() || Double.isNaN(value)) {
+            return EMPTY;
+        }
+        if (value == 0) {
+            return ENTIRE;
+        }
+        return rounded(lower / value, upper / value);
+    }
+    
+    /**
+     * Множество значений Math.pow(y, power) для y из отрезка (без NaN).
+     * Нулевая степень дает [1, 1] и для пустого отрезка, так как Math.pow(NaN, 0) = 1
+     */
+    public Interval pow(double power) {
+        if (power == 0) {
+            return point(1);
+        }
+        if (isEmpty() || Double.isNaN(power)) {
+            return EMPTY;
+        }
+        if (Double.isInfinite(power)) {
+            // Значения - только 0 и бесконечность
+            return new Interval(0, Double.POSITIVE_INFINITY);
+        }
+        // Все double не меньше 2^53 по модулю - четные целые
+        boolean integer = power == Math.rint(power);
+        if (!integer) {
+            // Для дробной степени отрицательные основания дают NaN
+            Interval positive = intersect(0, Double.POSITIVE_INFINITY);
+            if (positive.isEmpty()) {
+                return EMPTY;
+            }
+            return rounded(Math.pow(positive.lower, power), Math.pow(positive.upper, power));
+        }
+        
+        boolean even = (power % 2) == 0;
+        boolean containsZero = lower <= 0 && upper >= 0;
+        double atLower = Math.pow(lower, power);
+        double atUpper = Math.pow(upper, power);
+        if (power > 0) {
+            if (!even) {
+                return rounded(atLower, atUpper);
+            }
+            if (containsZero) {
+                return new Interval(0, up(Math.max(atLower, atUpper)));
+            }
+            return rounded(atLower, atUpper);
+        }
+        if (containsZero) {
+            // Полюс в нуле
+            return even ? new Interval(down(Math.min(atLower, atUpper)), Double.POSITIVE_INFINITY) : ENTIRE;
+        }
+        return rounded(atLower, atUpper);
+    }
+    
+    /**
+     * Произведение границ; 0 * бесконечность считается равным 0
+     */
+    private static double product(double a, double b) {
+        return (a == 0 || b == 0) ? 0 : a * b;
+    }
+    
+    static double down(double value) {
+        return Double.isNaN(value) ? Double.NEGATIVE_INFINITY : Math.nextDown(value);
+    }
+    
+    static double up(double value) {
+        return Double.isNaN(value) ? Double.POSITIVE_INFINITY : Math.nextUp(value);
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        Interval that = (Interval) obj;
+        return !isEmpty() && !that.isEmpty()
+                && Double.compare(lower, that.lower) == 0 && Double.compare(upper, that.upper) == 0;
+    }
+    
+    @Override
+    public int hashCode() {
+        return isEmpty() ? 0 : 31 * Double.hashCode(lower) + Double.hashCode(upper);
+    }
+    
+    @Override
+    public String toString() {
+        return isEmpty() ? "[]" : "[" + lower + ", " + upper + "]";
+    }
+}
\ No newline at end of file
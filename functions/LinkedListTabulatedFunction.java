@@ -1,6 +1,8 @@
 package functions;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
@@ -469,26 +471,57 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
         };
     }
     
+    /**
+     * Маркер блочного формата сериализации. В старом формате поток начинается
+     * с количества точек, которое не может быть отрицательным
+     */
+    private static final int BULK_EXTERNAL_FORMAT = -1;
+    
     @Override
     public void writeExternal(ObjectOutput out) throws IOException {
-        out.writeInt(size);
+        // Столбцы X и Y записываются одним блоком байтов
+        ByteBuffer buffer = ByteBuffer.allocate(TabulatedFunctions.columnBytes(size));
+        DoubleBuffer columns = buffer.asDoubleBuffer();
         FunctionNode current = head.next;
-        while (current != head) {
-            out.writeDouble(current.point.getX());
-            out.writeDouble(current.point.getY());
+        for (int i = 0; i < size; i++) {
+            columns.put(i, current.point.getX());
+            columns.put(size + i, current.point.getY());
             current = current.next;
         }
+        out.writeInt(BULK_EXTERNAL_FORMAT);
+        out.writeInt(size);
+        out.write(buffer.array());
     }
     
     @Override
     public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
         initHead();
-        int newSize = in.readInt();
-        for (int i = 0; i < newSize; i++) {
-            double x = in.readDouble();
-            double y = in.readDouble();
-            FunctionNode newNode = addNodeToTail();
-            newNode.point = new FunctionPoint(x, y);
+        int header = in.readInt();
+        if (header != BULK_EXTERNAL_FORMAT) {
+            // Старый формат: количество точек и пары координат
+            for (int i = 0; i < header; i++) {
+                double x = in.readDouble();
+                double y = in.readDouble();
+                FunctionNode newNode = addNodeToTail();
+                newNode.point = new FunctionPoint(x, y);
+            }
+        } else {
+            int count = in.readInt();
+            if (count < 0) {
+                throw new InvalidObjectException("Negative point count: " + count);
+            }
+            byte[] bytes;
+            try {
+                bytes = new byte[TabulatedFunctions.columnBytes(count)];
+            } catch (IllegalArgumentException e) {
+                throw new InvalidObjectException(e.getMessage());
+            }
+            in.readFully(bytes);
+            DoubleBuffer columns = ByteBuffer.wrap(bytes).asDoubleBuffer();
+            for (int i = 0; i < count; i++) {
+                FunctionNode newNode = addNodeToTail();
+                newNode.point = new FunctionPoint(columns.get(i), columns.get(count + i));
+            }
         }
         lastAccessedNode = (size > 0) ? head.next : head;
         lastAccessedIndex = 0;
@@ -0,0 +1,95 @@
+package functions;
+
+/**
+ * Метод Ромберга: последовательность формул трапеций с шагом (b - a) / 2^k,
+ * уточняемая экстраполяцией Ричардсона. На каждом уровне функция вычисляется
+ * только в новых (нечетных) узлах, все предыдущие значения используются повторно.
+ * Подходит для гладких функций, для которых дает на порядки меньше вычислений,
+ * чем метод трапеций с мелким шагом
+ */
+public class RombergMethod implements IntegrationMethod {
+    /**
+     * Максимальное число уровней по умолчанию (2^20 + 1 вычислений функции)
+     */
+    public static final int DEFAULT_MAX_LEVELS = 20;
+    
+    // Минимальное число уровней, защищающее от случайного совпадения оценок
+    private static final int MIN_LEVELS = 4;
+    
+    private final double absoluteTolerance;
+    private final double relativeTolerance;
+    private final int maxLevels;
+    
+    public RombergMethod(double absoluteTolerance, double relativeTolerance) {
+        this(absoluteTolerance, relativeTolerance, DEFAULT_MAX_LEVELS);
+    }
+    
+    public RombergMethod(double absoluteTolerance, double relativeTolerance, int maxLevels) {
+        if (!(absoluteTolerance >= 0) || !(relativeTolerance >= 0)) {
+            throw new IllegalArgumentException(
+                String.format("Tolerances must be non-negative (got %.3e, %.3e)", absoluteTolerance, relativeTolerance));
+        }
+        if (maxLevels < MIN_LEVELS || maxLevels > 30) {
+            throw new IllegalArgumentException(
+                "Number of levels must be between " + MIN_LEVELS + " and 30 (got " + maxLevels + ")");
+        }
+        this.absoluteTolerance = absoluteTolerance;
+        this.relativeTolerance = relativeTolerance;
+        this.maxLevels = maxLevels;
+    }
+    
+    @Override
+    public IntegrationResult integrate(Function function, double leftBorder, double rightBorder) {
+        Functions.checkIntegrationDomain(function, leftBorder, rightBorder);
+        Functions.checkIntegrationOrder(leftBorder, rightBorder);
+        
+        double length = rightBorder - leftBorder;
+        double[] previous = new double[maxLevels + 1];
+        double[] current = new double[maxLevels + 1];
+        
+        previous[0] = length / 2.0 
+            * (function.getFunctionValue(leftBorder) + function.getFunctionValue(rightBorder));
+        long evaluations = 2;
+        double estimate = previous[0];
+        double error = Double.POSITIVE_INFINITY;
+        
+        for (int level = 1; level <= maxLevels; level++) {
+            // Формула трапеций с вдвое меньшим шагом: только новые узлы
+            long newNodes = 1L << (level - 1);
+            double step = length / (2 * newNodes);
+            double sum = 0.0;
+            for (long i = 0; i < newNodes; i++) {
+                sum += function.getFunctionValue(leftBorder + (2 * i + 1) * step);
+            }
+            evaluations += newNodes;
+            current[0] = previous[0] / 2.0 + step * sum;
+            
+            // Экстраполяция Ричардсона
+            double factor = 1.0;
+            for (int j = 1; j <= level; j++) {
+                factor *= 4.0;
+                current[j] = current[j - 1] + (current[j - 1] - previous[j - 1]) / (factor - 1.0);
+            }
+            
+            estimate = current[level];
+            error = Math.abs(estimate - previous[level - 1]);
+            if (Double.isNaN(estimate) || level >= MIN_LEVELS 
+                    && error <= Math.max(absoluteTolerance, relativeTolerance * Math.abs(estimate))) {
+                break;
+            }
+            
+            double[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        
+        // Если точность не достигнута, оценка погрешности больше допустимой
+        return new IntegrationResult(estimate, error, evaluations);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("Romberg (tolerance %.1e / %.1e, up to %d levels)", 
+            absoluteTolerance, relativeTolerance, maxLevels);
+    }
+}
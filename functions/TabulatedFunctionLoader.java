@@ -0,0 +1,140 @@
+package functions;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Асинхронная параллельная загрузка табулированных функций из файлов.
+ * Файлы читаются и разбираются в ограниченном пуле потоков, поэтому чтение
+ * одних файлов перекрывается с разбором других. Объем одновременно
+ * загруженных в память данных ограничивается бюджетом в байтах.
+ * Поддерживаются бинарный формат outputTabulatedFunction и блочный
+ * сжатый формат outputCompressedTabulatedFunction (определяется по сигнатуре)
+ */
+public class TabulatedFunctionLoader implements AutoCloseable {
+    /**
+     * Бюджет памяти по умолчанию - 64 МБ
+     */
+    public static final long DEFAULT_MAX_IN_FLIGHT_BYTES = 64L << 20;
+    
+    // Семафор считает килобайты, чтобы бюджет помещался в int
+    private static final int PERMIT_SHIFT = 10;
+    
+    private final ExecutorService executor;
+    private final Semaphore inFlight;
+    private final int maxPermits;
+    
+    /**
+     * Загрузчик с числом потоков по количеству процессоров и бюджетом по умолчанию
+     */
+    public TabulatedFunctionLoader() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_MAX_IN_FLIGHT_BYTES);
+    }
+    
+    /**
+     * @param parallelism количество потоков загрузки
+     * @param maxInFlightBytes максимальный объем одновременно прочитанных данных
+     */
+    public TabulatedFunctionLoader(int parallelism, long maxInFlightBytes) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive (got " + parallelism + ")");
+        }
+        if (maxInFlightBytes < 1) {
+            throw new IllegalArgumentException("In-flight byte budget must be positive (got " + maxInFlightBytes + ")");
+        }
+        
+        this.maxPermits = (int) Math.max(1, Math.min(Integer.MAX_VALUE, maxInFlightBytes >> PERMIT_SHIFT));
+        this.inFlight = new Semaphore(maxPermits);
+        this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "tabulated-function-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Загрузка набора файлов. Функции создаются через фабрику, активную
+     * в момент вызова метода
+     * @return результаты загрузки в порядке перечисления путей
+     */
+    public Map<Path, CompletableFuture<TabulatedFunction>> load(Collection<Path> paths) {
+        TabulatedFunctionFactory factory = TabulatedFunctions.getTabulatedFunctionFactory();
+        Map<Path, CompletableFuture<TabulatedFunction>> result = new LinkedHashMap<>();
+        for (Path path : paths) {
+            if (!result.containsKey(path)) {
+                result.put(path, load(path, factory));
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Загрузка одного файла через текущую фабрику
+     */
+    public CompletableFuture<TabulatedFunction> load(Path path) {
+        return load(path, TabulatedFunctions.getTabulatedFunctionFactory());
+    }
+    
+    private CompletableFuture<TabulatedFunction> load(Path path, TabulatedFunctionFactory factory) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return read(path, factory);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Loading of " + path + " was interrupted", e);
+            }
+        }, executor);
+    }
+    
+    private TabulatedFunction read(Path path, TabulatedFunctionFactory factory) throws IOException, InterruptedException {
+        long size = Files.size(path);
+        int permits = (int) Math.max(1, Math.min(maxPermits, size >> PERMIT_SHIFT));
+        
+        inFlight.acquire(permits);
+        try {
+            byte[] bytes = Files.readAllBytes(path);
+            double[][] columns = isCompressed(bytes)
+                ? TabulatedFunctions.readCompressedColumns(new ByteArrayInputStream(bytes))
+                : TabulatedFunctions.readBinaryColumns(new ByteArrayInputStream(bytes));
+            return factory.createTabulatedFunction(columns[0], columns[1]);
+        } finally {
+            inFlight.release(permits);
+        }
+    }
+    
+    private static boolean isCompressed(byte[] bytes) {
+        if (bytes.length < 4) {
+            return false;
+        }
+        int header = ((bytes[0] & 0xFF) << 24) | ((bytes[1] & 0xFF) << 16) 
+            | ((bytes[2] & 0xFF) << 8) | (bytes[3] & 0xFF);
+        return header == TabulatedFunctions.COMPRESSED_FORMAT_MAGIC;
+    }
+    
+    /**
+     * Завершение работы пула; уже начатые загрузки дорабатывают до конца
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
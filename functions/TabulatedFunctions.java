@@ -1,9 +1,15 @@
 package functions;
 
 import java.io.*;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.file.Path;
 import java.util.Locale;
+import java.util.stream.IntStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 /**
  * Утилитарный класс для работы с табулированными функциями
@@ -53,6 +59,67 @@ public class TabulatedFunctions {
     
     // === Методы создания через рефлексию ===
     
+    /**
+     * Кэш конструкторов классов табулированных функций.
+     * Конструкторы ищутся один раз для каждого класса и хранятся
+     * в виде MethodHandle, поэтому повторное создание объектов через
+     * рефлексию не требует getConstructor() и Constructor.newInstance()
+     */
+    private static final ClassValue<FunctionConstructors> constructors = new ClassValue<FunctionConstructors>() {
+        @Override
+        protected FunctionConstructors computeValue(Class<?> type) {
+            return new FunctionConstructors(type);
+        }
+    };
+    
+    /**
+     * Конструкторы одного класса табулированной функции
+     */
+    private static final class FunctionConstructors {
+        private static final MethodType BY_POINTS = 
+            MethodType.methodType(TabulatedFunction.class, FunctionPoint[].class);
+        private static final MethodType BY_BORDERS = 
+            MethodType.methodType(TabulatedFunction.class, double.class, double.class, int.class);
+        private static final MethodType BY_ARRAYS = 
+            MethodType.methodType(TabulatedFunction.class, double[].class, double[].class);
+        
+        final MethodHandle byPoints;
+        final MethodHandle byBorders;
+        final MethodHandle byArrays;
+        
+        FunctionConstructors(Class<?> type) {
+            byPoints = findConstructor(type, BY_POINTS);
+            byBorders = findConstructor(type, BY_BORDERS);
+            byArrays = findConstructor(type, BY_ARRAYS);
+        }
+        
+        /**
+         * Поиск публичного конструктора; при его отсутствии возвращает
+         * MethodHandle, выбрасывающий исключение поиска
+         */
+        private static MethodHandle findConstructor(Class<?> type, MethodType signature) {
+            try {
+                return MethodHandles.publicLookup()
+                    .findConstructor(type, signature.changeReturnType(void.class))
+                    .asType(signature);
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                MethodHandle thrower = MethodHandles.throwException(
+                    TabulatedFunction.class, ReflectiveOperationException.class).bindTo(e);
+                return MethodHandles.dropArguments(thrower, 0, signature.parameterList());
+            }
+        }
+    }
+    
+    /**
+     * Приведение исключения конструктора к IllegalArgumentException
+     */
+    private static IllegalArgumentException creationFailure(Throwable e) {
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        return new IllegalArgumentException("Failed to create function: " + e.getMessage(), e);
+    }
+    
     /**
      * Создание табулированной функции через рефлексию (по точкам)
      */
@@ -60,17 +127,9 @@ public class TabulatedFunctions {
             Class<? extends TabulatedFunction> functionClass, 
             FunctionPoint[] points) {
         try {
-            // Получаем конструктор с параметром FunctionPoint[]
-            Constructor<? extends TabulatedFunction> constructor = 
-                functionClass.getConstructor(FunctionPoint[].class);
-            
-            // Создаем объект
-            return constructor.newInstance((Object) points);
-            
-        } catch (NoSuchMethodException | SecurityException | 
-                 InstantiationException | IllegalAccessException | 
-                 IllegalArgumentException | InvocationTargetException e) {
-            throw new IllegalArgumentException("Failed to create function: " + e.getMessage(), e);
+            return (TabulatedFunction) constructors.get(functionClass).byPoints.invokeExact(points);
+        } catch (Throwable e) {
+            throw creationFailure(e);
         }
     }
     
@@ -81,17 +140,9 @@ public class TabulatedFunctions {
             Class<? extends TabulatedFunction> functionClass,
             double leftX, double rightX, int pointsCount) {
         try {
-            // Получаем конструктор с параметрами double, double, int
-            Constructor<? extends TabulatedFunction> constructor = 
-                functionClass.getConstructor(double.class, double.class, int.class);
-            
-            // Создаем объект
-            return constructor.newInstance(leftX, rightX, pointsCount);
-            
-        } catch (NoSuchMethodException | SecurityException | 
-                 InstantiationException | IllegalAccessException | 
-                 IllegalArgumentException | InvocationTargetException e) {
-            throw new IllegalArgumentException("Failed to create function: " + e.getMessage(), e);
+            return (TabulatedFunction) constructors.get(functionClass).byBorders.invokeExact(leftX, rightX, pointsCount);
+        } catch (Throwable e) {
+            throw creationFailure(e);
         }
     }
     
@@ -102,17 +153,9 @@ public class TabulatedFunctions {
             Class<? extends TabulatedFunction> functionClass,
             double[] xValues, double[] yValues) {
         try {
-            // Получаем конструктор с параметрами double[], double[]
-            Constructor<? extends TabulatedFunction> constructor = 
-                functionClass.getConstructor(double[].class, double[].class);
-            
-            // Создаем объект
-            return constructor.newInstance(xValues, yValues);
-            
-        } catch (NoSuchMethodException | SecurityException | 
-                 InstantiationException | IllegalAccessException | 
-                 IllegalArgumentException | InvocationTargetException e) {
-            throw new IllegalArgumentException("Failed to create function: " + e.getMessage(), e);
+            return (TabulatedFunction) constructors.get(functionClass).byArrays.invokeExact(xValues, yValues);
+        } catch (Throwable e) {
+            throw creationFailure(e);
         }
     }
     
@@ -162,6 +205,88 @@ public class TabulatedFunctions {
         return createTabulatedFunction(functionClass, xValues, yValues);
     }
     
+    // === Методы построения первообразной ===
+    
+    /**
+     * Табулирование первообразной F(x) = интеграл функции от leftX до x (через фабрику).
+     * Функция вычисляется один раз в каждом узле, значения F накапливаются
+     * методом трапеций за один проход; после этого определенный интеграл
+     * по любому отрезку внутри [leftX, rightX] равен F(b) - F(a)
+     */
+    public static TabulatedFunction antiderivative(Function function, double leftX, double rightX, int pointsCount) {
+        double[][] columns = sampleAntiderivative(function, leftX, rightX, pointsCount, false);
+        return createTabulatedFunction(columns[0], columns[1]);
+    }
+    
+    /**
+     * Табулирование первообразной через рефлексию
+     */
+    public static TabulatedFunction antiderivative(
+            Class<? extends TabulatedFunction> functionClass,
+            Function function, double leftX, double rightX, int pointsCount) {
+        double[][] columns = sampleAntiderivative(function, leftX, rightX, pointsCount, false);
+        return createTabulatedFunction(functionClass, columns[0], columns[1]);
+    }
+    
+    /**
+     * Табулирование первообразной с параллельным вычислением значений функции
+     * (функция должна допускать вычисление из нескольких потоков).
+     * Накопление сумм выполняется последовательно, поэтому результат
+     * совпадает с antiderivative()
+     */
+    public static TabulatedFunction antiderivativeParallel(Function function, double leftX, double rightX, int pointsCount) {
+        double[][] columns = sampleAntiderivative(function, leftX, rightX, pointsCount, true);
+        return createTabulatedFunction(columns[0], columns[1]);
+    }
+    
+    /**
+     * Точная первообразная табулированной функции (через фабрику): в тех же
+     * точках X хранится интеграл кусочно-линейной функции от левой границы
+     */
+    public static TabulatedFunction antiderivative(TabulatedFunction function) {
+        int pointCount = function.getPointCount();
+        double[] xValues = new double[pointCount];
+        double[] yValues = new double[pointCount];
+        for (int i = 0; i < pointCount; i++) {
+            xValues[i] = function.getPointX(i);
+            yValues[i] = function.getPointY(i);
+        }
+        return createTabulatedFunction(xValues, cumulativeTrapezoid(xValues, yValues));
+    }
+    
+    private static double[][] sampleAntiderivative(Function function, double leftX, double rightX, 
+            int pointsCount, boolean parallel) {
+        if (pointsCount < 2) {
+            throw new IllegalArgumentException("At least 2 points required");
+        }
+        
+        double step = (rightX - leftX) / (pointsCount - 1);
+        double[] xValues = new double[pointsCount];
+        double[] yValues = new double[pointsCount];
+        IntStream indices = IntStream.range(0, pointsCount);
+        (parallel ? indices.parallel() : indices).forEach(i -> {
+            double x = leftX + i * step;
+            xValues[i] = x;
+            yValues[i] = function.getFunctionValue(x);
+        });
+        
+        return new double[][] {xValues, cumulativeTrapezoid(xValues, yValues)};
+    }
+    
+    /**
+     * Накопленные суммы площадей трапеций (с компенсацией погрешности)
+     */
+    private static double[] cumulativeTrapezoid(double[] xValues, double[] yValues) {
+        double[] integrals = new double[xValues.length];
+        CompensatedSum sum = new CompensatedSum();
+        for (int i = 1; i < xValues.length; i++) {
+            double trapezoidArea = (yValues[i - 1] + yValues[i]) * (xValues[i] - xValues[i - 1]) / 2.0;
+            sum.add(trapezoidArea);
+            integrals[i] = sum.getSum();
+        }
+        return integrals;
+    }
+    
     // === Методы чтения/записи (бинарные) ===
     
     /**
@@ -183,6 +308,23 @@ public class TabulatedFunctions {
      * Чтение табулированной функции из бинарного потока (через текущую фабрику)
      */
     public static TabulatedFunction inputTabulatedFunction(InputStream in) throws IOException {
+        double[][] columns = readBinaryColumns(in);
+        return createTabulatedFunction(columns[0], columns[1]);
+    }
+    
+    /**
+     * Чтение табулированной функции из бинарного потока (через рефлексию)
+     */
+    public static TabulatedFunction inputTabulatedFunction(
+            Class<? extends TabulatedFunction> functionClass, InputStream in) throws IOException {
+        double[][] columns = readBinaryColumns(in);
+        return createTabulatedFunction(functionClass, columns[0], columns[1]);
+    }
+    
+    /**
+     * Чтение столбцов X и Y из бинарного потока
+     */
+    static double[][] readBinaryColumns(InputStream in) throws IOException {
         try (DataInputStream dis = new DataInputStream(in)) {
             int pointCount = dis.readInt();
             double[] xValues = new double[pointCount];
@@ -193,26 +335,233 @@ public class TabulatedFunctions {
                 yValues[i] = dis.readDouble();
             }
             
-            return createTabulatedFunction(xValues, yValues);
+            return new double[][] {xValues, yValues};
         }
     }
     
+    // === Методы чтения/записи (блочное сжатие) ===
+    
     /**
-     * Чтение табулированной функции из бинарного потока (через рефлексию)
+     * Сигнатура блочного сжатого формата ("TFB1")
      */
-    public static TabulatedFunction inputTabulatedFunction(
+    public static final int COMPRESSED_FORMAT_MAGIC = 0x54464231;
+    
+    /**
+     * Количество точек в одном блоке по умолчанию
+     */
+    public static final int DEFAULT_COMPRESSED_BLOCK_SIZE = 4096;
+    
+    /**
+     * Запись табулированной функции в блочный сжатый формат
+     * (размер блока по умолчанию)
+     */
+    public static void outputCompressedTabulatedFunction(TabulatedFunction function, OutputStream out) throws IOException {
+        outputCompressedTabulatedFunction(function, out, DEFAULT_COMPRESSED_BLOCK_SIZE);
+    }
+    
+    /**
+     * Запись табулированной функции в блочный сжатый формат.
+     * Формат: сигнатура, количество точек, размер блока, количество блоков,
+     * затем для каждого блока - длина сжатых данных и сами данные.
+     * Каждый блок кодируется независимо (XOR с предыдущим значением столбца,
+     * побайтовая перестановка, Deflater), поэтому блоки сжимаются и
+     * распаковываются параллельно
+     */
+    public static void outputCompressedTabulatedFunction(TabulatedFunction function, OutputStream out,
+            int blockSize) throws IOException {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive (got " + blockSize + ")");
+        }
+        
+        int pointCount = function.getPointCount();
+        double[] xValues = new double[pointCount];
+        double[] yValues = new double[pointCount];
+        for (int i = 0; i < pointCount; i++) {
+            xValues[i] = function.getPointX(i);
+            yValues[i] = function.getPointY(i);
+        }
+        
+        // Проверка размера блока до запуска параллельного кодирования
+        columnBytes(Math.min(blockSize, pointCount));
+        int blockCount = (int) (((long) pointCount + blockSize - 1) / blockSize);
+        byte[][] blocks = new byte[blockCount][];
+        IntStream.range(0, blockCount).parallel().forEach(block -> {
+            int from = block * blockSize;
+            int to = (int) Math.min((long) from + blockSize, pointCount);
+            blocks[block] = encodeBlock(xValues, yValues, from, to);
+        });
+        
+        try (DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(out))) {
+            dos.writeInt(COMPRESSED_FORMAT_MAGIC);
+            dos.writeInt(pointCount);
+            dos.writeInt(blockSize);
+            dos.writeInt(blockCount);
+            for (byte[] block : blocks) {
+                dos.writeInt(block.length);
+                dos.write(block);
+            }
+        }
+    }
+    
+    /**
+     * Чтение табулированной функции из блочного сжатого формата (через текущую фабрику)
+     */
+    public static TabulatedFunction inputCompressedTabulatedFunction(InputStream in) throws IOException {
+        double[][] columns = readCompressedColumns(in);
+        return createTabulatedFunction(columns[0], columns[1]);
+    }
+    
+    /**
+     * Чтение табулированной функции из блочного сжатого формата (через рефлексию)
+     */
+    public static TabulatedFunction inputCompressedTabulatedFunction(
             Class<? extends TabulatedFunction> functionClass, InputStream in) throws IOException {
-        try (DataInputStream dis = new DataInputStream(in)) {
-            int pointCount = dis.readInt();
-            double[] xValues = new double[pointCount];
-            double[] yValues = new double[pointCount];
-            
-            for (int i = 0; i < pointCount; i++) {
-                xValues[i] = dis.readDouble();
-                yValues[i] = dis.readDouble();
+        double[][] columns = readCompressedColumns(in);
+        return createTabulatedFunction(functionClass, columns[0], columns[1]);
+    }
+    
+    /**
+     * Чтение всех блоков из потока и их параллельная распаковка
+     */
+    static double[][] readCompressedColumns(InputStream in) throws IOException {
+        byte[][] blocks;
+        int pointCount;
+        int blockSize;
+        
+        try (DataInputStream dis = new DataInputStream(new BufferedInputStream(in))) {
+            if (dis.readInt() != COMPRESSED_FORMAT_MAGIC) {
+                throw new IOException("Not a block-compressed tabulated function stream");
+            }
+            pointCount = dis.readInt();
+            blockSize = dis.readInt();
+            int blockCount = dis.readInt();
+            if (pointCount < 0 || blockSize < 1 
+                    || blockCount != (int) (((long) pointCount + blockSize - 1) / blockSize)) {
+                throw new IOException("Corrupted block-compressed header");
             }
             
-            return createTabulatedFunction(functionClass, xValues, yValues);
+            blocks = new byte[blockCount][];
+            for (int i = 0; i < blockCount; i++) {
+                int length = dis.readInt();
+                if (length < 0) {
+                    throw new IOException("Corrupted length of block " + i);
+                }
+                blocks[i] = new byte[length];
+                dis.readFully(blocks[i]);
+            }
+        }
+        
+        double[] xValues = new double[pointCount];
+        double[] yValues = new double[pointCount];
+        try {
+            IntStream.range(0, blocks.length).parallel().forEach(block -> {
+                int from = block * blockSize;
+                int to = (int) Math.min((long) from + blockSize, pointCount);
+                decodeBlock(blocks[block], xValues, yValues, from, to);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        
+        return new double[][] {xValues, yValues};
+    }
+    
+    /**
+     * Кодирование блока точек [from, to): XOR соседних значений столбца,
+     * перестановка байтов (сначала старшие байты всех значений) и сжатие
+     */
+    private static byte[] encodeBlock(double[] xValues, double[] yValues, int from, int to) {
+        int count = to - from;
+        byte[] raw = new byte[columnBytes(count)];
+        shuffleXorColumn(xValues, from, count, raw, 0);
+        shuffleXorColumn(yValues, from, count, raw, count * 8);
+        
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream result = new ByteArrayOutputStream(raw.length / 2 + 64);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                result.write(buffer, 0, length);
+            }
+            return result.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+    
+    /**
+     * Распаковка блока в массивы координат (обратное к encodeBlock)
+     */
+    private static void decodeBlock(byte[] block, double[] xValues, double[] yValues, int from, int to) {
+        int count = to - from;
+        byte[] raw = new byte[columnBytes(count)];
+        
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(block);
+            int offset = 0;
+            while (offset < raw.length) {
+                int length = inflater.inflate(raw, offset, raw.length - offset);
+                if (length == 0) {
+                    // Нет продвижения: конец данных, нехватка входа или запрос словаря
+                    throw new IOException("Unexpected end of compressed block at point " + from);
+                }
+                offset += length;
+            }
+            // Контрольная сумма в конце потока читается отдельным вызовом
+            if (!inflater.finished() && inflater.inflate(new byte[1]) > 0 
+                    || !inflater.finished() || inflater.getRemaining() > 0) {
+                throw new IOException("Compressed block at point " + from + " does not match its point count");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (DataFormatException e) {
+            throw new UncheckedIOException(new IOException("Corrupted compressed block at point " + from, e));
+        } finally {
+            inflater.end();
+        }
+        
+        unshuffleXorColumn(raw, 0, count, xValues, from);
+        unshuffleXorColumn(raw, count * 8, count, yValues, from);
+    }
+    
+    /**
+     * Размер в байтах столбцов X и Y из count точек
+     * @throws IllegalArgumentException если столбцы не помещаются в один массив
+     */
+    static int columnBytes(int count) {
+        long bytes = (long) count * 2 * Double.BYTES;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                String.format("Too many points in one block: %d (%d bytes exceed the array size limit)", count, bytes));
+        }
+        return (int) bytes;
+    }
+    
+    private static void shuffleXorColumn(double[] values, int from, int count, byte[] raw, int rawOffset) {
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            long bits = Double.doubleToRawLongBits(values[from + i]);
+            long encoded = bits ^ previous;
+            previous = bits;
+            for (int b = 0; b < 8; b++) {
+                raw[rawOffset + b * count + i] = (byte) (encoded >>> (56 - 8 * b));
+            }
+        }
+    }
+    
+    private static void unshuffleXorColumn(byte[] raw, int rawOffset, int count, double[] values, int from) {
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            long encoded = 0;
+            for (int b = 0; b < 8; b++) {
+                encoded = (encoded << 8) | (raw[rawOffset + b * count + i] & 0xFF);
+            }
+            previous ^= encoded;
+            values[from + i] = Double.longBitsToDouble(previous);
         }
     }
     
@@ -301,6 +650,38 @@ public class TabulatedFunctions {
         return createTabulatedFunction(functionClass, xValues, yValues);
     }
     
+    // === Чтение многостолбцовых CSV-файлов ===
+    
+    /**
+     * Параллельное чтение CSV-файла, в котором первый столбец содержит X,
+     * а каждый следующий - значения Y отдельной функции (через текущую фабрику).
+     * Первая строка пропускается, если она не начинается с числа (заголовок).
+     * Значения X должны строго возрастать по всему файлу
+     * @return по одной табулированной функции на каждый столбец Y
+     */
+    public static TabulatedFunction[] readTabulatedFunctionsCsv(Path file, char separator) throws IOException {
+        TabulatedFunctionFactory currentFactory = factory;
+        double[][] columns = new CsvColumnsReader(file, separator).read();
+        TabulatedFunction[] result = new TabulatedFunction[columns.length - 1];
+        for (int i = 1; i < columns.length; i++) {
+            result[i - 1] = currentFactory.createTabulatedFunction(columns[0], columns[i]);
+        }
+        return result;
+    }
+    
+    /**
+     * Параллельное чтение многостолбцового CSV-файла (через рефлексию)
+     */
+    public static TabulatedFunction[] readTabulatedFunctionsCsv(
+            Class<? extends TabulatedFunction> functionClass, Path file, char separator) throws IOException {
+        double[][] columns = new CsvColumnsReader(file, separator).read();
+        TabulatedFunction[] result = new TabulatedFunction[columns.length - 1];
+        for (int i = 1; i < columns.length; i++) {
+            result[i - 1] = createTabulatedFunction(functionClass, columns[0], columns[i]);
+        }
+        return result;
+    }
+    
     // === Дополнительные методы ===
     
     /**
@@ -0,0 +1,30 @@
+package functions;
+
+/**
+ * Метод трапеций с фиксированным шагом дискретизации
+ */
+public class TrapezoidMethod implements IntegrationMethod {
+    private final double discretizationStep;
+    
+    public TrapezoidMethod(double discretizationStep) {
+        if (discretizationStep <= 0) {
+            throw new IllegalArgumentException(
+                String.format("Discretization step must be positive (got %.6f)", discretizationStep));
+        }
+        this.discretizationStep = discretizationStep;
+    }
+    
+    public double getDiscretizationStep() {
+        return discretizationStep;
+    }
+    
+    @Override
+    public IntegrationResult integrate(Function function, double leftBorder, double rightBorder) {
+        return Functions.integrateWithStatistics(function, leftBorder, rightBorder, discretizationStep);
+    }
+    
+    @Override
+    public String toString() {
+        return "Trapezoid (step " + discretizationStep + ")";
+    }
+}
@@ -0,0 +1,67 @@
+package functions.basic;
+
+import functions.BatchFunction;
+
+/**
+ * Постоянная функция. Область определения по умолчанию - вся числовая ось;
+ * вне заданной области и при x = NaN значение - NaN
+ */
+public class Const implements BatchFunction {
+    private final double value;
+    private final double leftX, rightX;
+    
+    public Const(double value) {
+        this(value, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+    }
+    
+    public Const(double value, double leftX, double rightX) {
+        if (!(leftX <= rightX)) {
+            throw new IllegalArgumentException(
+                String.format("Invalid domain [%.2f, %.2f]", leftX, rightX));
+        }
+        this.value = value;
+        this.leftX = leftX;
+        this.rightX = rightX;
+    }
+    
+    public double getValue() {
+        return value;
+    }
+    
+    @Override
+    public double getLeftDomainBorder() {
+        return leftX;
+    }
+    
+    @Override
+    public double getRightDomainBorder() {
+        return rightX;
+    }
+    
+    @Override
+    public double getFunctionValue(double x) {
+        return (x >= leftX && x <= rightX) ? value : Double.NaN;
+    }
+    
+    @Override
+    public void getFunctionValues(double[] xValues, double[] yValues, int count) {
+        for (int i = 0; i < count; i++) {
+            double x = xValues[i];
+            yValues[i] = (x >= leftX && x <= rightX) ? value : Double.NaN;
+        }
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        Const that = (Const) obj;
+        return Double.compare(value, that.value) == 0 && Double.compare(leftX, that.leftX) == 0
+                && Double.compare(rightX, that.rightX) == 0;
+    }
+    
+    @Override
+    public int hashCode() {
+        return Double.hashCode(value) * 31 * 31 + Double.hashCode(leftX) * 31 + Double.hashCode(rightX);
+    }
+}
\ No newline at end of file
@@ -1,8 +1,17 @@
 package functions.basic;
 
-public class Cos extends TrigonometricFunction {
+import functions.BatchFunction;
+
+public class Cos extends TrigonometricFunction implements BatchFunction {
     @Override
     public double getFunctionValue(double x) {
         return Math.cos(x);
     }
+    
+    @Override
+    public void getFunctionValues(double[] xValues, double[] yValues, int count) {
+        for (int i = 0; i < count; i++) {
+            yValues[i] = Math.cos(xValues[i]);
+        }
+    }
 }
\ No newline at end of file
@@ -3,7 +3,7 @@ package functions;
 /**
  * Функция косинуса
  */
-public class CosFunction implements Function {
+public class CosFunction implements BatchFunction {
     @Override
     public double getLeftDomainBorder() {
         return Double.NEGATIVE_INFINITY;
@@ -19,8 +19,25 @@ public class CosFunction implements Function {
         return Math.cos(x);
     }
     
+    @Override
+    public void getFunctionValues(double[] xValues, double[] yValues, int count) {
+        for (int i = 0; i < count; i++) {
+            yValues[i] = Math.cos(xValues[i]);
+        }
+    }
+    
     @Override
     public String toString() {
         return "cos(x)";
     }
+    
+    @Override
+    public boolean equals(Object obj) {
+        return obj != null && getClass() == obj.getClass();
+    }
+    
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
 }
\ No newline at end of file
@@ -1,9 +1,9 @@
 package functions.basic;
 
-import functions.Function;
+import functions.BatchFunction;
 import functions.FunctionPoint;
 
-public class Exp implements Function {
+public class Exp implements BatchFunction {
     @Override
     public double getLeftDomainBorder() {
         return Double.NEGATIVE_INFINITY;
@@ -18,4 +18,21 @@ public class Exp implements Function {
     public double getFunctionValue(double x) {
         return Math.exp(x);
     }
+    
+    @Override
+    public void getFunctionValues(double[] xValues, double[] yValues, int count) {
+        for (int i = 0; i < count; i++) {
+            yValues[i] = Math.exp(xValues[i]);
+        }
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        return obj != null && getClass() == obj.getClass();
+    }
+    
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
 }
\ No newline at end of file
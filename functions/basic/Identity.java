@@ -0,0 +1,60 @@
+package functions.basic;
+
+import functions.BatchFunction;
+
+/**
+ * Тождественная функция f(x) = x. Область определения по умолчанию - вся
+ * числовая ось; вне заданной области значение - NaN
+ */
+public class Identity implements BatchFunction {
+    private final double leftX, rightX;
+    
+    public Identity() {
+        this(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+    }
+    
+    public Identity(double leftX, double rightX) {
+        if (!(leftX <= rightX)) {
+            throw new IllegalArgumentException(
+                String.format("Invalid domain [%.2f, %.2f]", leftX, rightX));
+        }
+        this.leftX = leftX;
+        this.rightX = rightX;
+    }
+    
+    @Override
+    public double getLeftDomainBorder() {
+        return leftX;
+    }
+    
+    @Override
+    public double getRightDomainBorder() {
+        return rightX;
+    }
+    
+    @Override
+    public double getFunctionValue(double x) {
+        return (x < leftX || x > rightX) ? Double.NaN : x;
+    }
+    
+    @Override
+    public void getFunctionValues(double[] xValues, double[] yValues, int count) {
+        for (int i = 0; i < count; i++) {
+            double x = xValues[i];
+            yValues[i] = (x < leftX || x > rightX) ? Double.NaN : x;
+        }
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        Identity that = (Identity) obj;
+        return Double.compare(leftX, that.leftX) == 0 && Double.compare(rightX, that.rightX) == 0;
+    }
+    
+    @Override
+    public int hashCode() {
+        return Double.hashCode(leftX) * 31 + Double.hashCode(rightX);
+    }
+}
\ No newline at end of file
@@ -1,16 +1,22 @@
 package functions.basic;
 
-import functions.Function;
+import functions.BatchFunction;
 import functions.FunctionPoint;
 
-public class Log implements Function {
+public class Log implements BatchFunction {
     private double base;
+    private double logBase;
     
     public Log(double base) {
         if (base <= 0 || FunctionPoint.equals(base, 1)) {
             throw new IllegalArgumentException("Base must be positive and not equal to 1");
         }
         this.base = base;
+        this.logBase = Math.log(base);
+    }
+    
+    public double getBase() {
+        return base;
     }
     
     @Override
@@ -28,6 +34,26 @@ public class Log implements Function {
         if (x <= 0) {
             return Double.NaN;
         }
-        return Math.log(x) / Math.log(base);
+        return Math.log(x) / logBase;
+    }
+    
+    @Override
+    public void getFunctionValues(double[] xValues, double[] yValues, int count) {
+        for (int i = 0; i < count; i++) {
+            double x = xValues[i];
+            yValues[i] = (x <= 0) ? Double.NaN : Math.log(x) / logBase;
+        }
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        return Double.compare(base, ((Log) obj).base) == 0;
+    }
+    
+    @Override
+    public int hashCode() {
+        return Double.hashCode(base);
     }
 }
@@ -3,8 +3,9 @@ package functions;
 /**
  * Логарифмическая функция с произвольным основанием
  */
-public class LogFunction implements Function {
+public class LogFunction implements BatchFunction {
     private final double base;
+    private final double logBase;
     
     public LogFunction(double base) {
         if (base <= 0 || Math.abs(base - 1.0) < 1e-10) {
@@ -12,6 +13,7 @@ public class LogFunction implements Function {
                 String.format("Logarithm base must be positive and not equal to 1 (got %.2f)", base));
         }
         this.base = base;
+        this.logBase = Math.log(base);
     }
     
     @Override
@@ -30,7 +32,19 @@ public class LogFunction implements Function {
             throw new IllegalArgumentException(
                 String.format("Logarithm is defined only for positive arguments (got %.2f)", x));
         }
-        return Math.log(x) / Math.log(base);
+        return Math.log(x) / logBase;
+    }
+    
+    @Override
+    public void getFunctionValues(double[] xValues, double[] yValues, int count) {
+        for (int i = 0; i < count; i++) {
+            double x = xValues[i];
+            if (x <= 0) {
+                throw new IllegalArgumentException(
+                    String.format("Logarithm is defined only for positive arguments (got %.2f)", x));
+            }
+            yValues[i] = Math.log(x) / logBase;
+        }
     }
     
     public double getBase() {
@@ -1,8 +1,17 @@
 package functions.basic;
 
-public class Sin extends TrigonometricFunction {
+import functions.BatchFunction;
+
+public class Sin extends TrigonometricFunction implements BatchFunction {
     @Override
     public double getFunctionValue(double x) {
         return Math.sin(x);
     }
+    
+    @Override
+    public void getFunctionValues(double[] xValues, double[] yValues, int count) {
+        for (int i = 0; i < count; i++) {
+            yValues[i] = Math.sin(xValues[i]);
+        }
+    }
 }
\ No newline at end of file
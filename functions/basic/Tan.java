@@ -1,8 +1,17 @@
 package functions.basic;
 
-public class Tan extends TrigonometricFunction {
+import functions.BatchFunction;
+
+public class Tan extends TrigonometricFunction implements BatchFunction {
     @Override
     public double getFunctionValue(double x) {
         return Math.tan(x);
     }
+    
+    @Override
+    public void getFunctionValues(double[] xValues, double[] yValues, int count) {
+        for (int i = 0; i < count; i++) {
+            yValues[i] = Math.tan(xValues[i]);
+        }
+    }
 }
\ No newline at end of file
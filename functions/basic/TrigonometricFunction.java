@@ -12,4 +12,17 @@ public abstract class TrigonometricFunction implements Function {
     public double getRightDomainBorder() {
         return Double.POSITIVE_INFINITY;
     }
+    
+    /**
+     * Тригонометрические функции без параметров равны, если совпадает класс
+     */
+    @Override
+    public boolean equals(Object obj) {
+        return obj != null && getClass() == obj.getClass();
+    }
+    
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,210 @@
+package functions.meta;
+
+import functions.Function;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Функция, запоминающая вычисленные значения исходной функции.
+ * Значения хранятся в таблице с открытой адресацией на примитивных массивах
+ * (ключ - биты аргумента, без упаковки в Double). Размер таблицы ограничен:
+ * если в окне поиска нет свободного места, вытесняется одна из записей окна.
+ * Чтение выполняется без блокировки (оптимистично через StampedLock), поэтому
+ * одну функцию могут одновременно использовать несколько потоков-интеграторов.
+ * Значение вычисляется вне блокировки; при одновременном промахе его могут
+ * вычислить несколько потоков
+ */
+public class CachedFunction implements CompositeFunction {
+    /**
+     * Количество ячеек, просматриваемых от начальной позиции ключа
+     */
+    private static final int PROBE_LIMIT = 8;
+    
+    /**
+     * Пустая ячейка: битовое представление NaN, которое не выдает
+     * Double.doubleToLongBits() (все NaN приводятся к одному значению)
+     */
+    private static final long EMPTY = 0x7ff0000000000001L;
+    
+    private final Function f;
+    private final long[] keys;
+    private final double[] values;
+    private final int shift;
+    private final StampedLock lock = new StampedLock();
+    
+    private int size;
+    private int victim;
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    
+    /**
+     * @param maxEntries максимальное количество хранимых значений
+     *                   (округляется вверх до степени двойки)
+     */
+    public CachedFunction(Function f, int maxEntries) {
+        if (maxEntries < 1 || maxEntries > (1 << 30)) {
+            throw new IllegalArgumentException("Cache size must be in [1, 2^30] (got " + maxEntries + ")");
+        }
+        int capacity = Math.max(PROBE_LIMIT, Integer.highestOneBit(maxEntries - 1) << 1);
+        this.f = f;
+        this.keys = new long[capacity];
+        this.values = new double[capacity];
+        this.shift = 64 - Integer.numberOfTrailingZeros(capacity);
+        Arrays.fill(keys, EMPTY);
+    }
+    
+    public Function getFunction() {
+        return f;
+    }
+    
+    @Override
+    public double getLeftDomainBorder() {
+        return f.getLeftDomainBorder();
+    }
+    
+    @Override
+    public double getRightDomainBorder() {
+        return f.getRightDomainBorder();
+    }
+    
+    /**
+     * Пересчет границ исходной функции; кэш очищается, так как
+     * изменившаяся функция может давать другие значения
+     */
+    @Override
+    public void updateDomainBorders() {
+        if (f instanceof CompositeFunction) {
+            ((CompositeFunction) f).updateDomainBorders();
+        }
+        clear();
+    }
+    
+    @Override
+    public double getFunctionValue(double x) {
+        long key = Double.doubleToLongBits(x);
+        int home = (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+        
+        long stamp = lock.tryOptimisticRead();
+        int slot = find(key, home);
+        double value = (slot >= 0) ? values[slot] : 0;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                slot = find(key, home);
+                value = (slot >= 0) ? values[slot] : 0;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        if (slot >= 0) {
+            hits.increment();
+            return value;
+        }
+        
+        misses.increment();
+        value = f.getFunctionValue(x);
+        stamp = lock.writeLock();
+        try {
+            store(key, home, value);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return value;
+    }
+    
+    private int find(long key, int home) {
+        int mask = keys.length - 1;
+        for (int i = 0; i < PROBE_LIMIT; i++) {
+            int slot = (home + i) & mask;
+            long current = keys[slot];
+            if (current == key) {
+                return slot;
+            }
+            if (current == EMPTY) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+    
+    private void store(long key, int home, double value) {
+        int mask = keys.length - 1;
+        for (int i = 0; i < PROBE_LIMIT; i++) {
+            int slot = (home + i) & mask;
+            long current = keys[slot];
+            if (current == key) {
+                values[slot] = value;
+                return;
+            }
+            if (current == EMPTY) {
+                keys[slot] = key;
+                values[slot] = value;
+                size++;
+                return;
+            }
+        }
+        // Окно заполнено: записи не удаляются, а заменяются на месте,
+        // поэтому поиск до первой пустой ячейки остается корректным
+        int slot = (home + (victim++ & (PROBE_LIMIT - 1))) & mask;
+        keys[slot] = key;
+        values[slot] = value;
+        evictions.increment();
+    }
+    
+    public long getHits() {
+        return hits.sum();
+    }
+    
+    public long getMisses() {
+        return misses.sum();
+    }
+    
+    public long getEvictions() {
+        return evictions.sum();
+    }
+    
+    /**
+     * Доля попаданий в кэш (0, если обращений не было)
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long requests = hitCount + misses.sum();
+        return (requests == 0) ? 0.0 : (double) hitCount / requests;
+    }
+    
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+    
+    public int getCapacity() {
+        return keys.length;
+    }
+    
+    /**
+     * Очистка кэша (статистика сохраняется)
+     */
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            Arrays.fill(keys, EMPTY);
+            size = 0;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("CachedFunction[size=%d/%d, hits=%d, misses=%d, evictions=%d]",
+            size(), keys.length, getHits(), getMisses(), getEvictions());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package functions.meta;
+
+import functions.Function;
+
+/**
+ * Функция, составленная из других функций. Границы области определения
+ * вычисляются один раз при создании; если дочерняя функция изменяемая
+ * (например, табулированная) и ее границы изменились, нужно вызвать
+ * updateDomainBorders() у корня дерева
+ */
+public interface CompositeFunction extends Function {
+    /**
+     * Пересчет границ области определения по дочерним функциям (рекурсивно)
+     */
+    void updateDomainBorders();
+}
\ No newline at end of file
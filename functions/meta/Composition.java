@@ -1,31 +1,117 @@
 package functions.meta;
 
+import functions.BatchFunction;
 import functions.Function;
+import functions.Functions;
 
-public class Composition implements Function {
+import java.util.Objects;
+
+public class Composition implements BatchFunction, CompositeFunction {
     private Function f1, f2;
+    private double leftBorder, rightBorder;
+    private boolean bounded;
+    private int hash;
     
     public Composition(Function f1, Function f2) {
         this.f1 = f1;
         this.f2 = f2;
+        computeDomainBorders();
+    }
+    
+    /**
+     * Внутренняя функция (вычисляется первой)
+     */
+    public Function getInnerFunction() {
+        return f1;
+    }
+    
+    /**
+     * Внешняя функция (применяется к результату внутренней)
+     */
+    public Function getOuterFunction() {
+        return f2;
+    }
+    
+    @Override
+    public void updateDomainBorders() {
+        if (f1 instanceof CompositeFunction) {
+            ((CompositeFunction) f1).updateDomainBorders();
+        }
+        if (f2 instanceof CompositeFunction) {
+            ((CompositeFunction) f2).updateDomainBorders();
+        }
+        computeDomainBorders();
+    }
+    
+    private void computeDomainBorders() {
+        leftBorder = f1.getLeftDomainBorder();
+        rightBorder = f1.getRightDomainBorder();
+        bounded = leftBorder != Double.NEGATIVE_INFINITY || rightBorder != Double.POSITIVE_INFINITY;
     }
     
     @Override
     public double getLeftDomainBorder() {
-        return f1.getLeftDomainBorder();
+        return leftBorder;
     }
     
     @Override
     public double getRightDomainBorder() {
-        return f1.getRightDomainBorder();
+        return rightBorder;
     }
     
     @Override
     public double getFunctionValue(double x) {
-        if (x < getLeftDomainBorder() || x > getRightDomainBorder()) {
+        if (bounded && (x < leftBorder || x > rightBorder)) {
             return Double.NaN;
         }
         double intermediate = f1.getFunctionValue(x);
         return f2.getFunctionValue(intermediate);
     }
+    
+    @Override
+    public void getFunctionValues(double[] xValues, double[] yValues, int count) {
+        double[] intermediate = new double[count];
+        if (!bounded) {
+            Functions.evaluate(f1, xValues, intermediate, count);
+            Functions.evaluate(f2, intermediate, yValues, count);
+            return;
+        }
+        double left = leftBorder;
+        double right = rightBorder;
+        // Аргументы вне области определения передаются внутренней функции как NaN
+        double[] arguments = new double[count];
+        for (int i = 0; i < count; i++) {
+            double x = xValues[i];
+            arguments[i] = (x < left || x > right) ? Double.NaN : x;
+        }
+        Functions.evaluate(f1, arguments, intermediate, count);
+        Functions.evaluate(f2, intermediate, yValues, count);
+        for (int i = 0; i < count; i++) {
+            double x = xValues[i];
+            if (x < left || x > right) {
+                yValues[i] = Double.NaN;
+            }
+        }
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        Composition that = (Composition) obj;
+        return hashCode() == that.hashCode() && NodeEquality.equal(f1, that.f1) && NodeEquality.equal(f2, that.f2);
+    }
+    
+    /**
+     * Хеш вычисляется один раз: поддеревья общих узлов не обходятся повторно
+     */
+    @Override
+    public int hashCode() {
+        int result = hash;
+        if (result == 0) {
+            result = Objects.hash(Composition.class, NodeEquality.hash(f1), NodeEquality.hash(f2));
+            hash = result;
+        }
+        return result;
+    }
 }
\ No newline at end of file
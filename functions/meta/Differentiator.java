@@ -0,0 +1,142 @@
+package functions.meta;
+
+import functions.ChebyshevFunction;
+import functions.CosFunction;
+import functions.Function;
+import functions.Functions;
+import functions.LogFunction;
+import functions.SinFunction;
+import functions.basic.Const;
+import functions.basic.Cos;
+import functions.basic.Exp;
+import functions.basic.Identity;
+import functions.basic.Log;
+import functions.basic.Sin;
+import functions.basic.Tan;
+
+/**
+ * Символьное дифференцирование деревьев функций из functions.meta
+ * и functions.basic. Производная строится по правилам суммы, произведения
+ * (Mult), степени (Power) и цепочки (Composition) и упрощается
+ * FunctionSimplifier. Область определения производной совпадает с областью
+ * определения исходной функции; вне ее значение - NaN.
+ * Поддерживаются Composition, Sum, Mult, Power, Scale, Shift, Sin, Cos, Tan,
+ * Exp, Log, Const, Identity, SinFunction, CosFunction, LogFunction,
+ * Functions.ExpFunction и ChebyshevFunction; обертки SharedFunction,
+ * CachedFunction и TiledFunction дифференцируются по исходной функции
+ */
+public final class Differentiator {
+    private Differentiator() {
+    }
+    
+    /**
+     * Производная функции в виде упрощенного дерева
+     * @throws IllegalArgumentException если функция (или ее часть) не поддерживается
+     */
+    public static Function derivative(Function function) {
+        return FunctionSimplifier.simplify(differentiate(function)).getFunction();
+    }
+    
+    private static Function differentiate(Function function) {
+        if (function instanceof Sum) {
+            Sum sum = (Sum) function;
+            return new Sum(differentiate(sum.getFirstFunction()), differentiate(sum.getSecondFunction()));
+        }
+        if (function instanceof Mult) {
+            // (f g)' = f' g + f g'
+            Mult mult = (Mult) function;
+            Function f = mult.getFirstFunction();
+            Function g = mult.getSecondFunction();
+            return new Sum(new Mult(differentiate(f), g), new Mult(f, differentiate(g)));
+        }
+        if (function instanceof Composition) {
+            // g(f(x))' = g'(f(x)) f'(x)
+            Composition composition = (Composition) function;
+            Function inner = composition.getInnerFunction();
+            return new Mult(new Composition(inner, differentiate(composition.getOuterFunction())),
+                differentiate(inner));
+        }
+        if (function instanceof Power) {
+            // (f^p)' = p f^(p-1) f'
+            Power power = (Power) function;
+            Function f = power.getFunction();
+            double p = power.getPower();
+            if (p == 0) {
+                return zero(f);
+            }
+            return new Mult(new Scale(new Power(f, p - 1), 1, p), differentiate(f));
+        }
+        if (function instanceof Scale) {
+            // (sy f(x / sx))' = sy / sx f'(x / sx)
+            Scale scale = (Scale) function;
+            return new Scale(differentiate(scale.getFunction()), scale.getScaleX(),
+                scale.getScaleY() / scale.getScaleX());
+        }
+        if (function instanceof Shift) {
+            Shift shift = (Shift) function;
+            return new Shift(differentiate(shift.getFunction()), shift.getShiftX(), 0);
+        }
+        
+        if (function instanceof Sin) {
+            return new Cos();
+        }
+        if (function instanceof Cos) {
+            return new Scale(new Sin(), 1, -1);
+        }
+        if (function instanceof Tan) {
+            // 1 / cos^2
+            return new Power(new Cos(), -2);
+        }
+        if (function instanceof Exp || function instanceof Functions.ExpFunction) {
+            return function;
+        }
+        if (function instanceof Log) {
+            return inverse(function, ((Log) function).getBase());
+        }
+        if (function instanceof LogFunction) {
+            return inverse(function, ((LogFunction) function).getBase());
+        }
+        if (function instanceof SinFunction) {
+            return new CosFunction();
+        }
+        if (function instanceof CosFunction) {
+            return new Scale(new SinFunction(), 1, -1);
+        }
+        if (function instanceof Const) {
+            return zero(function);
+        }
+        if (function instanceof Identity) {
+            return new Const(1, function.getLeftDomainBorder(), function.getRightDomainBorder());
+        }
+        if (function instanceof ChebyshevFunction) {
+            return ((ChebyshevFunction) function).derivative();
+        }
+        
+        if (function instanceof SharedFunction) {
+            return differentiate(((SharedFunction) function).getFunction());
+        }
+        if (function instanceof CachedFunction) {
+            return differentiate(((CachedFunction) function).getFunction());
+        }
+        if (function instanceof TiledFunction) {
+            return differentiate(((TiledFunction) function).getFunction());
+        }
+        throw new IllegalArgumentException(
+            "Cannot differentiate function of class " + function.getClass().getName());
+    }
+    
+    /**
+     * Нулевая функция на области определения function
+     */
+    private static Function zero(Function function) {
+        return new Const(0, function.getLeftDomainBorder(), function.getRightDomainBorder());
+    }
+    
+    /**
+     * (log_b x)' = 1 / (x ln b) на области определения логарифма
+     */
+    private static Function inverse(Function log, double base) {
+        Identity x = new Identity(log.getLeftDomainBorder(), log.getRightDomainBorder());
+        return new Scale(new Power(x, -1), 1, 1 / Math.log(base));
+    }
+}
\ No newline at end of file
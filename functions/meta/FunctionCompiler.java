@@ -0,0 +1,544 @@
+package functions.meta;
+
+import functions.CosFunction;
+import functions.Function;
+import functions.Functions;
+import functions.SinFunction;
+import functions.basic.Cos;
+import functions.basic.Exp;
+import functions.basic.Log;
+import functions.basic.Sin;
+import functions.basic.Tan;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Компиляция дерева функций из functions.meta в один сгенерированный класс.
+ * Узлы Composition, Sum, Mult, Power, Scale, Shift и элементарные функции
+ * из functions.basic (а также SinFunction, CosFunction, Functions.ExpFunction)
+ * превращаются в один метод getFunctionValue() без вызовов через интерфейс;
+ * границы областей определения вычисляются при компиляции и встраиваются
+ * в код как константы. Остальные функции (табулированные, LogFunction и др.)
+ * вызываются как есть. Результат совпадает с исходным деревом, включая
+ * значения NaN вне области определения.
+ * Скомпилированная функция - снимок дерева: последующие изменения
+ * табулированных функций внутри дерева не меняют встроенных границ
+ */
+public final class FunctionCompiler {
+    private static final String CLASS_NAME = "functions/meta/CompiledFunction";
+    private static final String FUNCTION = "functions/Function";
+    private static final String LEAVES_FIELD = "leaves";
+    private static final String LEAVES_DESCRIPTOR = "[Lfunctions/Function;";
+    
+    // Ограничение размера метода, при котором хватает 16-битных смещений переходов
+    private static final int MAX_CODE_LENGTH = 32767;
+    
+    private FunctionCompiler() {
+    }
+    
+    /**
+     * Компиляция дерева функций.
+     * @return сгенерированная функция или исходная функция, если в дереве
+     *         нет узлов, которые можно скомпилировать, или дерево слишком велико
+     */
+    public static Function compile(Function function) {
+        if (!isCompilable(function)) {
+            return function;
+        }
+        
+        MethodGenerator generator = new MethodGenerator();
+        generator.generateBody(function);
+        if (generator.code.size() > MAX_CODE_LENGTH || generator.maxLocals > 255) {
+            return function;
+        }
+        
+        try {
+            byte[] bytes = generator.toClassFile(function.getLeftDomainBorder(), function.getRightDomainBorder());
+            MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(bytes, true);
+            Function[] leaves = generator.leaves.toArray(new Function[0]);
+            return (Function) lookup.findConstructor(lookup.lookupClass(),
+                MethodType.methodType(void.class, Function[].class)).invoke(leaves);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to compile function: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Классы узлов, код которых встраивается; остальные функции вызываются как листья
+     */
+    private static final Set<Class<?>> COMPILABLE_CLASSES = Set.of(
+        Composition.class, Sum.class, Mult.class, Power.class, Scale.class, Shift.class,
+        Sin.class, Cos.class, Tan.class, Exp.class, Log.class,
+        SinFunction.class, CosFunction.class, Functions.ExpFunction.class);
+    
+    /**
+     * Сравнение по точному классу: наследник с переопределенным
+     * getFunctionValue() компилируется как обычный лист, а не встраивается
+     */
+    private static boolean isExactly(Function function, Class<?> functionClass) {
+        return function.getClass() == functionClass;
+    }
+    
+    private static boolean isCompilable(Function function) {
+        return COMPILABLE_CLASSES.contains(function.getClass());
+    }
+    
+    /**
+     * Генератор кода метода getFunctionValue(double) и файла класса
+     */
+    private static class MethodGenerator {
+        // Коды используемых инструкций
+        private static final int ALOAD_0 = 0x2a;
+        private static final int ALOAD_1 = 0x2b;
+        private static final int DCONST_0 = 0x0e;
+        private static final int SIPUSH = 0x11;
+        private static final int LDC2_W = 0x14;
+        private static final int DLOAD = 0x18;
+        private static final int DSTORE = 0x39;
+        private static final int AALOAD = 0x32;
+        private static final int DADD = 0x63;
+        private static final int DSUB = 0x67;
+        private static final int DMUL = 0x6b;
+        private static final int DDIV = 0x6f;
+        private static final int DCMPL = 0x97;
+        private static final int DCMPG = 0x98;
+        private static final int IFLT = 0x9b;
+        private static final int IFGT = 0x9d;
+        private static final int IFLE = 0x9e;
+        private static final int GOTO = 0xa7;
+        private static final int DRETURN = 0xaf;
+        private static final int RETURN = 0xb1;
+        private static final int GETFIELD = 0xb4;
+        private static final int PUTFIELD = 0xb5;
+        private static final int INVOKESPECIAL = 0xb7;
+        private static final int INVOKESTATIC = 0xb8;
+        private static final int INVOKEINTERFACE = 0xb9;
+        
+        final ConstantPool pool = new ConstantPool();
+        final ByteArrayOutputStream code = new ByteArrayOutputStream();
+        final List<Function> leaves = new ArrayList<>();
+        private final List<Label> labels = new ArrayList<>();
+        int maxLocals = 3;
+        private int stack;
+        private int maxStack;
+        
+        /**
+         * Тело метода: аргумент x находится в локальной переменной 1
+         */
+        void generateBody(Function function) {
+            generate(function, 1);
+            emit(DRETURN);
+        }
+        
+        /**
+         * Генерация кода, оставляющего на стеке значение function в точке,
+         * хранящейся в локальной переменной argument
+         */
+        private void generate(Function function, int argument) {
+            if (isExactly(function, Composition.class)) {
+                Composition composition = (Composition) function;
+                generateChecked(composition, argument, () -> {
+                    generate(composition.getInnerFunction(), argument);
+                    int intermediate = allocateLocal();
+                    emitLocal(DSTORE, intermediate, -2);
+                    generate(composition.getOuterFunction(), intermediate);
+                });
+            } else if (isExactly(function, Sum.class)) {
+                Sum sum = (Sum) function;
+                generateChecked(sum, argument, () -> {
+                    generate(sum.getFirstFunction(), argument);
+                    generate(sum.getSecondFunction(), argument);
+                    emit(DADD, -2);
+                });
+            } else if (isExactly(function, Mult.class)) {
+                Mult mult = (Mult) function;
+                generateChecked(mult, argument, () -> {
+                    generate(mult.getFirstFunction(), argument);
+                    generate(mult.getSecondFunction(), argument);
+                    emit(DMUL, -2);
+                });
+            } else if (isExactly(function, Power.class)) {
+                Power power = (Power) function;
+                generateChecked(power, argument, () -> {
+                    generate(power.getFunction(), argument);
+                    emitDouble(power.getPower());
+                    emitMath("pow", "(DD)D", -2);
+                });
+            } else if (isExactly(function, Scale.class)) {
+                Scale scale = (Scale) function;
+                int original = allocateLocal();
+                emitLocal(DLOAD, argument, 2);
+                emitDouble(scale.getScaleX());
+                emit(DDIV, -2);
+                emitLocal(DSTORE, original, -2);
+                generateChecked(scale.getFunction(), original, () -> {
+                    generate(scale.getFunction(), original);
+                    emitDouble(scale.getScaleY());
+                    emit(DMUL, -2);
+                });
+            } else if (isExactly(function, Shift.class)) {
+                Shift shift = (Shift) function;
+                int original = allocateLocal();
+                emitLocal(DLOAD, argument, 2);
+                emitDouble(shift.getShiftX());
+                emit(DSUB, -2);
+                emitLocal(DSTORE, original, -2);
+                generateChecked(shift.getFunction(), original, () -> {
+                    generate(shift.getFunction(), original);
+                    emitDouble(shift.getShiftY());
+                    emit(DADD, -2);
+                });
+            } else if (isExactly(function, Sin.class) || isExactly(function, SinFunction.class)) {
+                emitLocal(DLOAD, argument, 2);
+                emitMath("sin", "(D)D", 0);
+            } else if (isExactly(function, Cos.class) || isExactly(function, CosFunction.class)) {
+                emitLocal(DLOAD, argument, 2);
+                emitMath("cos", "(D)D", 0);
+            } else if (isExactly(function, Tan.class)) {
+                emitLocal(DLOAD, argument, 2);
+                emitMath("tan", "(D)D", 0);
+            } else if (isExactly(function, Exp.class) || isExactly(function, Functions.ExpFunction.class)) {
+                emitLocal(DLOAD, argument, 2);
+                emitMath("exp", "(D)D", 0);
+            } else if (isExactly(function, Log.class)) {
+                // x <= 0 ? NaN : Math.log(x) / Math.log(base)
+                Label nan = newLabel();
+                Label end = newLabel();
+                emitLocal(DLOAD, argument, 2);
+                emit(DCONST_0, 2);
+                emit(DCMPG, -3);
+                emitJump(IFLE, nan, -1);
+                emitLocal(DLOAD, argument, 2);
+                emitMath("log", "(D)D", 0);
+                emitDouble(Math.log(((Log) function).getBase()));
+                emit(DDIV, -2);
+                emitJump(GOTO, end, 0);
+                stack -= 2;
+                bind(nan);
+                emitDouble(Double.NaN);
+                bind(end);
+            } else {
+                // Прочие функции вызываются через интерфейс
+                int index = leaves.size();
+                leaves.add(function);
+                emit(ALOAD_0, 1);
+                emitField(GETFIELD, 0);
+                emit(SIPUSH, 1);
+                code.write(index >>> 8);
+                code.write(index);
+                emit(AALOAD, -1);
+                emitLocal(DLOAD, argument, 2);
+                emit(INVOKEINTERFACE, -1);
+                emitShort(pool.interfaceMethod(FUNCTION, "getFunctionValue", "(D)D"));
+                code.write(3);
+                code.write(0);
+            }
+        }
+        
+        /**
+         * Проверка принадлежности аргумента области определения domain:
+         * вне ее значением узла является NaN, иначе - результат body
+         */
+        private void generateChecked(Function domain, int argument, Runnable body) {
+            double left = domain.getLeftDomainBorder();
+            double right = domain.getRightDomainBorder();
+            boolean checkLeft = left > Double.NEGATIVE_INFINITY;
+            boolean checkRight = right < Double.POSITIVE_INFINITY;
+            if (!checkLeft && !checkRight) {
+                body.run();
+                return;
+            }
+            
+            Label nan = newLabel();
+            Label end = newLabel();
+            if (checkLeft) {
+                emitLocal(DLOAD, argument, 2);
+                emitDouble(left);
+                emit(DCMPG, -3);
+                emitJump(IFLT, nan, -1);
+            }
+            if (checkRight) {
+                emitLocal(DLOAD, argument, 2);
+                emitDouble(right);
+                emit(DCMPL, -3);
+                emitJump(IFGT, nan, -1);
+            }
+            body.run();
+            emitJump(GOTO, end, 0);
+            stack -= 2;
+            bind(nan);
+            emitDouble(Double.NaN);
+            bind(end);
+        }
+        
+        private int allocateLocal() {
+            int slot = maxLocals;
+            maxLocals += 2;
+            return slot;
+        }
+        
+        private void emit(int opcode) {
+            emit(opcode, 0);
+        }
+        
+        private void emit(int opcode, int stackChange) {
+            code.write(opcode);
+            adjustStack(stackChange);
+        }
+        
+        private void emitLocal(int opcode, int slot, int stackChange) {
+            emit(opcode, stackChange);
+            code.write(slot);
+        }
+        
+        private void emitDouble(double value) {
+            emit(LDC2_W, 2);
+            emitShort(pool.doubleConstant(value));
+        }
+        
+        private void emitMath(String name, String descriptor, int stackChange) {
+            emit(INVOKESTATIC, stackChange);
+            emitShort(pool.method("java/lang/Math", name, descriptor));
+        }
+        
+        private void emitField(int opcode, int stackChange) {
+            emit(opcode, stackChange);
+            emitShort(pool.field(CLASS_NAME, LEAVES_FIELD, LEAVES_DESCRIPTOR));
+        }
+        
+        private void emitJump(int opcode, Label label, int stackChange) {
+            int position = code.size();
+            emit(opcode, stackChange);
+            label.references.add(position);
+            emitShort(0);
+        }
+        
+        private Label newLabel() {
+            Label label = new Label();
+            labels.add(label);
+            return label;
+        }
+        
+        private void bind(Label label) {
+            label.position = code.size();
+        }
+        
+        private void emitShort(int value) {
+            code.write(value >>> 8);
+            code.write(value);
+        }
+        
+        private void adjustStack(int change) {
+            stack += change;
+            maxStack = Math.max(maxStack, stack);
+        }
+        
+        /**
+         * Код метода с разрешенными ссылками на метки
+         */
+        private byte[] resolveCode() {
+            byte[] bytes = code.toByteArray();
+            for (Label label : labels) {
+                for (int reference : label.references) {
+                    int offset = label.position - reference;
+                    bytes[reference + 1] = (byte) (offset >>> 8);
+                    bytes[reference + 2] = (byte) offset;
+                }
+            }
+            return bytes;
+        }
+        
+        /**
+         * Файл класса: поле leaves, конструктор и три метода интерфейса Function
+         */
+        byte[] toClassFile(double leftBorder, double rightBorder) throws IOException {
+            byte[] valueCode = resolveCode();
+            
+            int thisClass = pool.classRef(CLASS_NAME);
+            int superClass = pool.classRef("java/lang/Object");
+            int functionInterface = pool.classRef(FUNCTION);
+            int leavesName = pool.utf8(LEAVES_FIELD);
+            int leavesDescriptor = pool.utf8(LEAVES_DESCRIPTOR);
+            int leavesField = pool.field(CLASS_NAME, LEAVES_FIELD, LEAVES_DESCRIPTOR);
+            int objectInit = pool.method("java/lang/Object", "<init>", "()V");
+            int codeName = pool.utf8("Code");
+            
+            // Конструктор: super(); this.leaves = leaves;
+            ByteArrayOutputStream init = new ByteArrayOutputStream();
+            init.write(ALOAD_0);
+            init.write(INVOKESPECIAL);
+            init.write(objectInit >>> 8);
+            init.write(objectInit);
+            init.write(ALOAD_0);
+            init.write(ALOAD_1);
+            init.write(PUTFIELD);
+            init.write(leavesField >>> 8);
+            init.write(leavesField);
+            init.write(RETURN);
+            
+            byte[] leftCode = constantCode(leftBorder);
+            byte[] rightCode = constantCode(rightBorder);
+            
+            int[][] methods = {
+                {pool.utf8("<init>"), pool.utf8("([Lfunctions/Function;)V")},
+                {pool.utf8("getLeftDomainBorder"), pool.utf8("()D")},
+                {pool.utf8("getRightDomainBorder"), pool.utf8("()D")},
+                {pool.utf8("getFunctionValue"), pool.utf8("(D)D")}
+            };
+            byte[][] bodies = {init.toByteArray(), leftCode, rightCode, valueCode};
+            int[] stacks = {2, 2, 2, Math.max(maxStack, 2)};
+            int[] locals = {2, 1, 1, maxLocals};
+            
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0xCAFEBABE);
+            // Версия 49: проверка типов без StackMapTable
+            out.writeShort(0);
+            out.writeShort(49);
+            pool.write(out);
+            out.writeShort(0x0031);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(1);
+            out.writeShort(functionInterface);
+            
+            out.writeShort(1);
+            out.writeShort(0x0012);
+            out.writeShort(leavesName);
+            out.writeShort(leavesDescriptor);
+            out.writeShort(0);
+            
+            out.writeShort(methods.length);
+            for (int i = 0; i < methods.length; i++) {
+                out.writeShort(0x0001);
+                out.writeShort(methods[i][0]);
+                out.writeShort(methods[i][1]);
+                out.writeShort(1);
+                out.writeShort(codeName);
+                out.writeInt(12 + bodies[i].length);
+                out.writeShort(stacks[i]);
+                out.writeShort(locals[i]);
+                out.writeInt(bodies[i].length);
+                out.write(bodies[i]);
+                out.writeShort(0);
+                out.writeShort(0);
+            }
+            out.writeShort(0);
+            out.flush();
+            return bytes.toByteArray();
+        }
+        
+        private byte[] constantCode(double value) {
+            int index = pool.doubleConstant(value);
+            return new byte[] {(byte) LDC2_W, (byte) (index >>> 8), (byte) index, (byte) DRETURN};
+        }
+    }
+    
+    /**
+     * Метка перехода
+     */
+    private static class Label {
+        int position;
+        final List<Integer> references = new ArrayList<>();
+    }
+    
+    /**
+     * Таблица констант файла класса
+     */
+    private static class ConstantPool {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private final Map<String, Integer> indices = new HashMap<>();
+        private int count = 1;
+        
+        int utf8(String value) {
+            return entry("U" + value, 1, () -> {
+                out.writeByte(1);
+                out.writeUTF(value);
+            });
+        }
+        
+        int classRef(String name) {
+            int nameIndex = utf8(name);
+            return entry("C" + name, 1, () -> {
+                out.writeByte(7);
+                out.writeShort(nameIndex);
+            });
+        }
+        
+        int doubleConstant(double value) {
+            long bits = Double.doubleToRawLongBits(value);
+            return entry("D" + bits, 2, () -> {
+                out.writeByte(6);
+                out.writeLong(bits);
+            });
+        }
+        
+        int field(String owner, String name, String descriptor) {
+            return memberRef(9, owner, name, descriptor);
+        }
+        
+        int method(String owner, String name, String descriptor) {
+            return memberRef(10, owner, name, descriptor);
+        }
+        
+        int interfaceMethod(String owner, String name, String descriptor) {
+            return memberRef(11, owner, name, descriptor);
+        }
+        
+        private int memberRef(int tag, String owner, String name, String descriptor) {
+            int ownerIndex = classRef(owner);
+            int nameIndex = utf8(name);
+            int descriptorIndex = utf8(descriptor);
+            int nameAndType = entry("N" + name + ":" + descriptor, 1, () -> {
+                out.writeByte(12);
+                out.writeShort(nameIndex);
+                out.writeShort(descriptorIndex);
+            });
+            return entry(tag + owner + "." + name + ":" + descriptor, 1, () -> {
+                out.writeByte(tag);
+                out.writeShort(ownerIndex);
+                out.writeShort(nameAndType);
+            });
+        }
+        
+        /**
+         * Добавление записи (size - число занимаемых индексов) без повторов
+         */
+        private int entry(String key, int size, IOAction writer) {
+            Integer existing = indices.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            try {
+                writer.run();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            int index = count;
+            count += size;
+            indices.put(key, index);
+            return index;
+        }
+        
+        void write(DataOutputStream target) throws IOException {
+            target.writeShort(count);
+            target.write(bytes.toByteArray());
+        }
+    }
+    
+    private interface IOAction {
+        void run() throws IOException;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,199 @@
+package functions.meta;
+
+import functions.Function;
+import functions.TabulatedFunction;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Построитель графов функций с объединением одинаковых подвыражений.
+ * Структурно равные узлы (по equals/hashCode) заменяются одним экземпляром,
+ * так что дерево превращается в граф без повторов. Метод build() оборачивает
+ * узлы, на которые ссылаются несколько родителей, в SharedFunction, и такое
+ * подвыражение вычисляется один раз для каждого x.
+ * Табулированные функции изменяемы, поэтому и сами они, и узлы над ними
+ * объединяются только по ссылке на таблицу (см. equals() мета-функций)
+ */
+public class FunctionGraphBuilder {
+    private final Map<Function, Function> nodes = new HashMap<>();
+    
+    public Function sum(Function f1, Function f2) {
+        return intern(new Sum(intern(f1), intern(f2)));
+    }
+    
+    public Function mult(Function f1, Function f2) {
+        return intern(new Mult(intern(f1), intern(f2)));
+    }
+    
+    public Function composition(Function f1, Function f2) {
+        return intern(new Composition(intern(f1), intern(f2)));
+    }
+    
+    public Function power(Function f, double power) {
+        return intern(new Power(intern(f), power));
+    }
+    
+    public Function scale(Function f, double scaleX, double scaleY) {
+        return intern(new Scale(intern(f), scaleX, scaleY));
+    }
+    
+    public Function shift(Function f, double shiftX, double shiftY) {
+        return intern(new Shift(intern(f), shiftX, shiftY));
+    }
+    
+    /**
+     * Канонический экземпляр для дерева: дочерние узлы объединяются рекурсивно
+     */
+    public Function intern(Function function) {
+        if (function instanceof TabulatedFunction || function instanceof SharedFunction) {
+            return function;
+        }
+        Function canonical = nodes.get(function);
+        if (canonical != null && canonical == function) {
+            return canonical;
+        }
+        Function rebuilt = rebuild(function);
+        canonical = nodes.putIfAbsent(rebuilt, rebuilt);
+        return canonical != null ? canonical : rebuilt;
+    }
+    
+    /**
+     * Количество различных узлов, известных построителю
+     */
+    public int size() {
+        return nodes.size();
+    }
+    
+    /**
+     * Граф для вычисления: общие узлы оборачиваются в SharedFunction
+     */
+    public Function build(Function root) {
+        Function canonical = intern(root);
+        Map<Function, Integer> parents = new IdentityHashMap<>();
+        countParents(canonical, parents);
+        return share(canonical, parents, new IdentityHashMap<>());
+    }
+    
+    private Function rebuild(Function function) {
+        if (function instanceof Composition) {
+            Composition composition = (Composition) function;
+            Function inner = intern(composition.getInnerFunction());
+            Function outer = intern(composition.getOuterFunction());
+            if (inner == composition.getInnerFunction() && outer == composition.getOuterFunction()) {
+                return function;
+            }
+            return new Composition(inner, outer);
+        }
+        if (function instanceof Sum) {
+            Sum sum = (Sum) function;
+            Function first = intern(sum.getFirstFunction());
+            Function second = intern(sum.getSecondFunction());
+            if (first == sum.getFirstFunction() && second == sum.getSecondFunction()) {
+                return function;
+            }
+            return new Sum(first, second);
+        }
+        if (function instanceof Mult) {
+            Mult mult = (Mult) function;
+            Function first = intern(mult.getFirstFunction());
+            Function second = intern(mult.getSecondFunction());
+            if (first == mult.getFirstFunction() && second == mult.getSecondFunction()) {
+                return function;
+            }
+            return new Mult(first, second);
+        }
+        if (function instanceof Power) {
+            Power power = (Power) function;
+            Function base = intern(power.getFunction());
+            return (base == power.getFunction()) ? function : new Power(base, power.getPower());
+        }
+        if (function instanceof Scale) {
+            Scale scale = (Scale) function;
+            Function inner = intern(scale.getFunction());
+            return (inner == scale.getFunction()) ? function
+                    : new Scale(inner, scale.getScaleX(), scale.getScaleY());
+        }
+        if (function instanceof Shift) {
+            Shift shift = (Shift) function;
+            Function inner = intern(shift.getFunction());
+            return (inner == shift.getFunction()) ? function
+                    : new Shift(inner, shift.getShiftX(), shift.getShiftY());
+        }
+        return function;
+    }
+    
+    private static void countParents(Function function, Map<Function, Integer> parents) {
+        Integer count = parents.get(function);
+        parents.put(function, count == null ? 1 : count + 1);
+        if (count != null) {
+            return;
+        }
+        for (Function child : children(function)) {
+            countParents(child, parents);
+        }
+    }
+    
+    private static Function share(Function function, Map<Function, Integer> parents,
+                                  Map<Function, Function> shared) {
+        Function result = shared.get(function);
+        if (result != null) {
+            return result;
+        }
+        if (function instanceof Composition) {
+            Composition composition = (Composition) function;
+            result = new Composition(share(composition.getInnerFunction(), parents, shared),
+                    share(composition.getOuterFunction(), parents, shared));
+        } else if (function instanceof Sum) {
+            Sum sum = (Sum) function;
+            result = new Sum(share(sum.getFirstFunction(), parents, shared),
+                    share(sum.getSecondFunction(), parents, shared));
+        } else if (function instanceof Mult) {
+            Mult mult = (Mult) function;
+            result = new Mult(share(mult.getFirstFunction(), parents, shared),
+                    share(mult.getSecondFunction(), parents, shared));
+        } else if (function instanceof Power) {
+            Power power = (Power) function;
+            result = new Power(share(power.getFunction(), parents, shared), power.getPower());
+        } else if (function instanceof Scale) {
+            Scale scale = (Scale) function;
+            result = new Scale(share(scale.getFunction(), parents, shared), scale.getScaleX(), scale.getScaleY());
+        } else if (function instanceof Shift) {
+            Shift shift = (Shift) function;
+            result = new Shift(share(shift.getFunction(), parents, shared), shift.getShiftX(), shift.getShiftY());
+        } else {
+            result = function;
+        }
+        if (parents.get(function) > 1) {
+            result = new SharedFunction(result);
+        }
+        shared.put(function, result);
+        return result;
+    }
+    
+    private static Function[] children(Function function) {
+        if (function instanceof Composition) {
+            Composition composition = (Composition) function;
+            return new Function[] {composition.getInnerFunction(), composition.getOuterFunction()};
+        }
+        if (function instanceof Sum) {
+            Sum sum = (Sum) function;
+            return new Function[] {sum.getFirstFunction(), sum.getSecondFunction()};
+        }
+        if (function instanceof Mult) {
+            Mult mult = (Mult) function;
+            return new Function[] {mult.getFirstFunction(), mult.getSecondFunction()};
+        }
+        if (function instanceof Power) {
+            return new Function[] {((Power) function).getFunction()};
+        }
+        if (function instanceof Scale) {
+            return new Function[] {((Scale) function).getFunction()};
+        }
+        if (function instanceof Shift) {
+            return new Function[] {((Shift) function).getFunction()};
+        }
+        return new Function[0];
+    }
+}
\ No newline at end of file
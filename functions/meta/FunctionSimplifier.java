@@ -0,0 +1,236 @@
+package functions.meta;
+
+import functions.Function;
+import functions.basic.Const;
+import functions.basic.Identity;
+
+/**
+ * Упрощение деревьев функций из functions.meta.
+ * Правила применяются снизу вверх, пока дерево меняется:
+ * <ul>
+ * <li>Power(f, 1) -> f</li>
+ * <li>Scale(f, 1, 1) -> f, Shift(f, 0, 0) -> f</li>
+ * <li>Scale(Scale(f, a, b), c, d) -> Scale(f, a * c, b * d)</li>
+ * <li>Shift(Shift(f, a, b), c, d) -> Shift(f, a + c, b + d)</li>
+ * <li>Sum(f, f) -> Scale(f, 1, 2) (одинаковые слагаемые вычисляются один раз;
+ *     табулированные функции считаются одинаковыми только по ссылке)</li>
+ * <li>Sum(c, f) -> Shift(f, 0, c), Mult(c, f) -> Scale(f, 1, c), если область
+ *     определения постоянной c (Const) содержит область определения f</li>
+ * <li>Power, Scale и Shift от постоянной на всей оси - постоянная</li>
+ * <li>Composition(f, x) -> f для тождественной функции x (Identity) на всей оси;
+ *     Composition(x, f) -> f, если и f определена на всей оси (область
+ *     определения композиции - область внутренней функции)</li>
+ * </ul>
+ * Области определения и значения NaN вне их сохраняются; при слиянии
+ * Scale и Shift значения могут отличаться в последнем знаке из-за
+ * округления объединенных коэффициентов. Узлы без изменений не пересоздаются
+ */
+public final class FunctionSimplifier {
+    private FunctionSimplifier() {
+    }
+    
+    /**
+     * Результат упрощения: новое дерево и количество удаленных узлов
+     */
+    public static class Result {
+        private final Function function;
+        private final int removedNodes;
+        
+        Result(Function function, int removedNodes) {
+            this.function = function;
+            this.removedNodes = removedNodes;
+        }
+        
+        public Function getFunction() {
+            return function;
+        }
+        
+        public int getRemovedNodes() {
+            return removedNodes;
+        }
+        
+        @Override
+        public String toString() {
+            return "Simplified (" + removedNodes + " nodes removed)";
+        }
+    }
+    
+    /**
+     * Упрощение дерева функций
+     */
+    public static Result simplify(Function function) {
+        Function simplified = rewrite(function);
+        return new Result(simplified, countNodes(function) - countNodes(simplified));
+    }
+    
+    /**
+     * Количество узлов дерева (каждое вхождение поддерева считается отдельно)
+     */
+    public static int countNodes(Function function) {
+        if (function instanceof Composition) {
+            Composition composition = (Composition) function;
+            return 1 + countNodes(composition.getInnerFunction()) + countNodes(composition.getOuterFunction());
+        }
+        if (function instanceof Sum) {
+            Sum sum = (Sum) function;
+            return 1 + countNodes(sum.getFirstFunction()) + countNodes(sum.getSecondFunction());
+        }
+        if (function instanceof Mult) {
+            Mult mult = (Mult) function;
+            return 1 + countNodes(mult.getFirstFunction()) + countNodes(mult.getSecondFunction());
+        }
+        if (function instanceof Power) {
+            return 1 + countNodes(((Power) function).getFunction());
+        }
+        if (function instanceof Scale) {
+            return 1 + countNodes(((Scale) function).getFunction());
+        }
+        if (function instanceof Shift) {
+            return 1 + countNodes(((Shift) function).getFunction());
+        }
+        return 1;
+    }
+    
+    private static Function rewrite(Function function) {
+        if (function instanceof Composition) {
+            Composition composition = (Composition) function;
+            Function inner = rewrite(composition.getInnerFunction());
+            Function outer = rewrite(composition.getOuterFunction());
+            if (isFullIdentity(inner) && isWholeAxis(outer)) {
+                return outer;
+            }
+            if (isFullIdentity(outer)) {
+                return inner;
+            }
+            if (inner == composition.getInnerFunction() && outer == composition.getOuterFunction()) {
+                return function;
+            }
+            return new Composition(inner, outer);
+        }
+        
+        if (function instanceof Sum) {
+            Sum sum = (Sum) function;
+            Function first = rewrite(sum.getFirstFunction());
+            Function second = rewrite(sum.getSecondFunction());
+            if (NodeEquality.equal(first, second)) {
+                return rewrite(new Scale(first, 1, 2));
+            }
+            if (isConstOver(first, second)) {
+                return rewrite(new Shift(second, 0, ((Const) first).getValue()));
+            }
+            if (isConstOver(second, first)) {
+                return rewrite(new Shift(first, 0, ((Const) second).getValue()));
+            }
+            if (first == sum.getFirstFunction() && second == sum.getSecondFunction()) {
+                return function;
+            }
+            return new Sum(first, second);
+        }
+        
+        if (function instanceof Mult) {
+            Mult mult = (Mult) function;
+            Function first = rewrite(mult.getFirstFunction());
+            Function second = rewrite(mult.getSecondFunction());
+            if (isConstOver(first, second)) {
+                return rewrite(new Scale(second, 1, ((Const) first).getValue()));
+            }
+            if (isConstOver(second, first)) {
+                return rewrite(new Scale(first, 1, ((Const) second).getValue()));
+            }
+            if (first == mult.getFirstFunction() && second == mult.getSecondFunction()) {
+                return function;
+            }
+            return new Mult(first, second);
+        }
+        
+        if (function instanceof Power) {
+            Power power = (Power) function;
+            Function base = rewrite(power.getFunction());
+            if (power.getPower() == 1) {
+                return base;
+            }
+            if (isFullConst(base)) {
+                return new Const(Math.pow(((Const) base).getValue(), power.getPower()));
+            }
+            return (base == power.getFunction()) ? function : new Power(base, power.getPower());
+        }
+        
+        if (function instanceof Scale) {
+            Scale scale = (Scale) function;
+            Function inner = rewrite(scale.getFunction());
+            double scaleX = scale.getScaleX();
+            double scaleY = scale.getScaleY();
+            
+            if (inner instanceof Scale) {
+                Scale innerScale = (Scale) inner;
+                double fusedX = innerScale.getScaleX() * scaleX;
+                double fusedY = innerScale.getScaleY() * scaleY;
+                if (isRegular(innerScale.getScaleX()) && isRegular(scaleX) && isRegular(fusedX)
+                        && Double.isFinite(fusedY)) {
+                    return rewrite(new Scale(innerScale.getFunction(), fusedX, fusedY));
+                }
+            }
+            if (isFullConst(inner) && isRegular(scaleX)) {
+                return new Const(((Const) inner).getValue() * scaleY);
+            }
+            if (scaleX == 1 && scaleY == 1) {
+                return inner;
+            }
+            return (inner == scale.getFunction()) ? function : new Scale(inner, scaleX, scaleY);
+        }
+        
+        if (function instanceof Shift) {
+            Shift shift = (Shift) function;
+            Function inner = rewrite(shift.getFunction());
+            double shiftX = shift.getShiftX();
+            double shiftY = shift.getShiftY();
+            
+            if (inner instanceof Shift) {
+                Shift innerShift = (Shift) inner;
+                double fusedX = innerShift.getShiftX() + shiftX;
+                double fusedY = innerShift.getShiftY() + shiftY;
+                if (Double.isFinite(fusedX) && Double.isFinite(fusedY)) {
+                    return rewrite(new Shift(innerShift.getFunction(), fusedX, fusedY));
+                }
+            }
+            if (isFullConst(inner) && Double.isFinite(shiftX)) {
+                return new Const(((Const) inner).getValue() + shiftY);
+            }
+            if (shiftX == 0 && shiftY == 0) {
+                return inner;
+            }
+            return (inner == shift.getFunction()) ? function : new Shift(inner, shiftX, shiftY);
+        }
+        
+        return function;
+    }
+    
+    /**
+     * Постоянная, область определения которой содержит область определения other
+     */
+    private static boolean isConstOver(Function function, Function other) {
+        return function instanceof Const
+            && function.getLeftDomainBorder() <= other.getLeftDomainBorder()
+            && function.getRightDomainBorder() >= other.getRightDomainBorder();
+    }
+    
+    private static boolean isFullConst(Function function) {
+        return function instanceof Const && isWholeAxis(function);
+    }
+    
+    private static boolean isFullIdentity(Function function) {
+        return function instanceof Identity && isWholeAxis(function);
+    }
+    
+    private static boolean isWholeAxis(Function function) {
+        return function.getLeftDomainBorder() == Double.NEGATIVE_INFINITY
+            && function.getRightDomainBorder() == Double.POSITIVE_INFINITY;
+    }
+    
+    /**
+     * Конечный ненулевой коэффициент, для которого слияние Scale корректно
+     */
+    private static boolean isRegular(double value) {
+        return value != 0 && Double.isFinite(value);
+    }
+}
\ No newline at end of file
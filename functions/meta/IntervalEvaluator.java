@@ -0,0 +1,249 @@
+package functions.meta;
+
+import functions.ArrayTabulatedFunction;
+import functions.ChebyshevFunction;
+import functions.CosFunction;
+import functions.Function;
+import functions.Functions;
+import functions.Interval;
+import functions.LinkedListTabulatedFunction;
+import functions.LogFunction;
+import functions.SinFunction;
+import functions.TabulatedFunction;
+import functions.basic.Const;
+import functions.basic.Cos;
+import functions.basic.Exp;
+import functions.basic.Identity;
+import functions.basic.Log;
+import functions.basic.Sin;
+import functions.basic.Tan;
+
+/**
+ * Интервальная оценка значений дерева функций без вычисления в точках.
+ * Результат - отрезок, гарантированно содержащий все значения функции
+ * (кроме NaN) на пересечении [leftX, rightX] с областью определения;
+ * пустой отрезок означает, что значений нет. Оценки:
+ * <ul>
+ * <li>Sin, Cos - по значениям в концах и попаданию экстремумов в отрезок;
+ *     Tan - монотонность между полюсами; Exp, Log - монотонность</li>
+ * <li>Composition, Sum, Mult, Power, Scale, Shift - интервальная арифметика</li>
+ * <li>табулированные функции - минимум и максимум по точкам внутри отрезка
+ *     и значениям в его концах</li>
+ * <li>ChebyshevFunction - по модулям коэффициентов</li>
+ * </ul>
+ * Границы округляются наружу с запасом на погрешность Math (1 ulp).
+ * Для остальных функций, в том числе наследников перечисленных классов,
+ * возвращается вся числовая ось
+ */
+public final class IntervalEvaluator {
+    private static final double TWO_PI = 2 * Math.PI;
+    
+    /**
+     * Погрешность элементарных функций Math в ulp
+     */
+    private static final int MATH_ULPS = 1;
+    
+    private IntervalEvaluator() {
+    }
+    
+    /**
+     * Отрезок, содержащий значения функции на [leftX, rightX]
+     * @throws IllegalArgumentException если leftX &gt; rightX
+     */
+    public static Interval bounds(Function function, double leftX, double rightX) {
+        return bounds(function, new Interval(leftX, rightX));
+    }
+    
+    /**
+     * Отрезок, содержащий значения функции при аргументах из x
+     */
+    public static Interval bounds(Function function, Interval x) {
+        Interval argument = x.intersect(function.getLeftDomainBorder(), function.getRightDomainBorder());
+        if (argument.isEmpty()) {
+            return Interval.EMPTY;
+        }
+        double a = argument.getLower();
+        double b = argument.getUpper();
+        
+        if (isExactly(function, Composition.class)) {
+            Composition composition = (Composition) function;
+            return bounds(composition.getOuterFunction(), bounds(composition.getInnerFunction(), argument));
+        }
+        if (isExactly(function, Sum.class)) {
+            Sum sum = (Sum) function;
+            return bounds(sum.getFirstFunction(), argument).add(bounds(sum.getSecondFunction(), argument));
+        }
+        if (isExactly(function, Mult.class)) {
+            Mult mult = (Mult) function;
+            return bounds(mult.getFirstFunction(), argument).multiply(bounds(mult.getSecondFunction(), argument));
+        }
+        if (isExactly(function, Power.class)) {
+            Power power = (Power) function;
+            return bounds(power.getFunction(), argument).pow(power.getPower());
+        }
+        if (isExactly(function, Scale.class)) {
+            Scale scale = (Scale) function;
+            return bounds(scale.getFunction(), argument.divide(scale.getScaleX())).multiply(scale.getScaleY());
+        }
+        if (isExactly(function, Shift.class)) {
+            Shift shift = (Shift) function;
+            return bounds(shift.getFunction(), argument.add(-shift.getShiftX())).add(shift.getShiftY());
+        }
+        
+        if (isExactly(function, Sin.class) || isExactly(function, SinFunction.class)) {
+            return sin(a, b);
+        }
+        if (isExactly(function, Cos.class) || isExactly(function, CosFunction.class)) {
+            return cos(a, b);
+        }
+        if (isExactly(function, Tan.class)) {
+            return tan(a, b);
+        }
+        if (isExactly(function, Exp.class) || isExactly(function, Functions.ExpFunction.class)) {
+            return exp(a, b);
+        }
+        if (isExactly(function, Log.class)) {
+            return log(function, ((Log) function).getBase(), a, b);
+        }
+        if (isExactly(function, LogFunction.class)) {
+            return log(function, ((LogFunction) function).getBase(), a, b);
+        }
+        if (isExactly(function, Const.class)) {
+            return Interval.point(((Const) function).getValue());
+        }
+        if (isExactly(function, Identity.class)) {
+            return argument;
+        }
+        
+        if (isExactly(function, ArrayTabulatedFunction.class) 
+                || isExactly(function, LinkedListTabulatedFunction.class)) {
+            return tabulated((TabulatedFunction) function, a, b);
+        }
+        if (isExactly(function, ChebyshevFunction.class)) {
+            return ((ChebyshevFunction) function).bounds(a, b);
+        }
+        if (isExactly(function, SharedFunction.class)) {
+            return bounds(((SharedFunction) function).getFunction(), argument);
+        }
+        if (isExactly(function, CachedFunction.class)) {
+            return bounds(((CachedFunction) function).getFunction(), argument);
+        }
+        if (isExactly(function, TiledFunction.class)) {
+            // Значения плиток - интерполяция значений функции в узлах плиток,
+            // покрывающих отрезок
+            TiledFunction tiled = (TiledFunction) function;
+            double width = tiled.getTileWidth();
+            Interval tiles = new Interval(Math.floor(a / width) * width, (Math.floor(b / width) + 1) * width);
+            Interval inner = bounds(tiled.getFunction(), tiles);
+            return inner.isEmpty() ? inner : widen(inner.getLower(), inner.getUpper(), 2);
+        }
+        return Interval.ENTIRE;
+    }
+    
+    /**
+     * Сравнение по точному классу: наследник может переопределить getFunctionValue()
+     */
+    private static boolean isExactly(Function function, Class<?> functionClass) {
+        return function.getClass() == functionClass;
+    }
+    
+    private static Interval sin(double a, double b) {
+        if (!(b - a < TWO_PI)) {
+            return new Interval(-1, 1);
+        }
+        double sa = Math.sin(a);
+        double sb = Math.sin(b);
+        double lower = Math.min(sa, sb);
+        double upper = Math.max(sa, sb);
+        Interval result = widen(lower, upper, MATH_ULPS);
+        lower = containsPhase(a, b, Math.PI * 1.5, TWO_PI) ? -1 : Math.max(-1, result.getLower());
+        upper = containsPhase(a, b, Math.PI / 2, TWO_PI) ? 1 : Math.min(1, result.getUpper());
+        return new Interval(lower, upper);
+    }
+    
+    private static Interval cos(double a, double b) {
+        if (!(b - a < TWO_PI)) {
+            return new Interval(-1, 1);
+        }
+        double ca = Math.cos(a);
+        double cb = Math.cos(b);
+        Interval result = widen(Math.min(ca, cb), Math.max(ca, cb), MATH_ULPS);
+        double lower = containsPhase(a, b, Math.PI, TWO_PI) ? -1 : Math.max(-1, result.getLower());
+        double upper = containsPhase(a, b, 0, TWO_PI) ? 1 : Math.min(1, result.getUpper());
+        return new Interval(lower, upper);
+    }
+    
+    private static Interval tan(double a, double b) {
+        if (!(b - a < Math.PI) || containsPhase(a, b, Math.PI / 2, Math.PI)) {
+            return Interval.ENTIRE;
+        }
+        return widen(Math.tan(a), Math.tan(b), MATH_ULPS);
+    }
+    
+    private static Interval exp(double a, double b) {
+        Interval result = widen(Math.exp(a), Math.exp(b), MATH_ULPS);
+        return new Interval(Math.max(0, result.getLower()), result.getUpper());
+    }
+    
+    /**
+     * Логарифм монотонен; в нуле он не определен, оценка там - бесконечность.
+     * Деление на ln(base) добавляет погрешность
+     */
+    private static Interval log(Function log, double base, double a, double b) {
+        double atZero = (base > 1) ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        double atA = (a > 0) ? log.getFunctionValue(a) : atZero;
+        double atB = (b > 0) ? log.getFunctionValue(b) : atZero;
+        return widen(atA, atB, MATH_ULPS + 2);
+    }
+    
+    /**
+     * Попадание в [a, b] точки phase + k * period при каком-либо целом k.
+     * Отрезок расширяется с запасом на погрешность вычисления phase + k * period,
+     * поэтому точка на границе считается попавшей
+     */
+    private static boolean containsPhase(double a, double b, double phase, double period) {
+        double margin = 1e-9 * (1 + Math.max(Math.abs(a), Math.abs(b)));
+        double k = Math.ceil((a - margin - phase) / period);
+        return phase + k * period <= b + margin;
+    }
+    
+    /**
+     * Минимум и максимум по точкам таблицы внутри [a, b] и значениям в концах
+     */
+    private static Interval tabulated(TabulatedFunction function, double a, double b) {
+        double lower = Math.min(function.getFunctionValue(a), function.getFunctionValue(b));
+        double upper = Math.max(function.getFunctionValue(a), function.getFunctionValue(b));
+        
+        // Первая точка таблицы с x >= a
+        int low = 0;
+        int high = function.getPointCount();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (function.getPointX(middle) < a) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        for (int i = low; i < function.getPointCount() && function.getPointX(i) <= b; i++) {
+            double y = function.getPointY(i);
+            lower = Math.min(lower, y);
+            upper = Math.max(upper, y);
+        }
+        // Запас на округление при интерполяции в концах
+        return widen(lower, upper, 2);
+    }
+    
+    /**
+     * Отрезок между a и b, расширенный наружу на ulps шагов (NaN - без ограничения)
+     */
+    private static Interval widen(double a, double b, int ulps) {
+        double lower = Double.isNaN(a) || Double.isNaN(b) ? Double.NEGATIVE_INFINITY : Math.min(a, b);
+        double upper = Double.isNaN(a) || Double.isNaN(b) ? Double.POSITIVE_INFINITY : Math.max(a, b);
+        for (int i = 0; i < ulps; i++) {
+            lower = Math.nextDown(lower);
+            upper = Math.nextUp(upper);
+        }
+        return new Interval(lower, upper);
+    }
+}
\ No newline at end of file
@@ -1,30 +1,112 @@
 package functions.meta;
 
+import functions.BatchFunction;
 import functions.Function;
+import functions.Functions;
 
-public class Mult implements Function {
+import java.util.Objects;
+
+public class Mult implements BatchFunction, CompositeFunction {
     private Function f1, f2;
+    private double leftBorder, rightBorder;
+    private boolean bounded;
+    private int hash;
     
     public Mult(Function f1, Function f2) {
         this.f1 = f1;
         this.f2 = f2;
+        computeDomainBorders();
+    }
+    
+    public Function getFirstFunction() {
+        return f1;
+    }
+    
+    public Function getSecondFunction() {
+        return f2;
+    }
+    
+    @Override
+    public void updateDomainBorders() {
+        if (f1 instanceof CompositeFunction) {
+            ((CompositeFunction) f1).updateDomainBorders();
+        }
+        if (f2 instanceof CompositeFunction) {
+            ((CompositeFunction) f2).updateDomainBorders();
+        }
+        computeDomainBorders();
+    }
+    
+    private void computeDomainBorders() {
+        leftBorder = Math.max(f1.getLeftDomainBorder(), f2.getLeftDomainBorder());
+        rightBorder = Math.min(f1.getRightDomainBorder(), f2.getRightDomainBorder());
+        bounded = leftBorder != Double.NEGATIVE_INFINITY || rightBorder != Double.POSITIVE_INFINITY;
     }
     
     @Override
     public double getLeftDomainBorder() {
-        return Math.max(f1.getLeftDomainBorder(), f2.getLeftDomainBorder());
+        return leftBorder;
     }
     
     @Override
     public double getRightDomainBorder() {
-        return Math.min(f1.getRightDomainBorder(), f2.getRightDomainBorder());
+        return rightBorder;
     }
     
     @Override
     public double getFunctionValue(double x) {
-        if (x < getLeftDomainBorder() || x > getRightDomainBorder()) {
+        if (bounded && (x < leftBorder || x > rightBorder)) {
             return Double.NaN;
         }
         return f1.getFunctionValue(x) * f2.getFunctionValue(x);
     }
+    
+    @Override
+    public void getFunctionValues(double[] xValues, double[] yValues, int count) {
+        double[] values = new double[count];
+        if (!bounded) {
+            // Сначала второй множитель: yValues может совпадать с xValues
+            Functions.evaluate(f2, xValues, values, count);
+            Functions.evaluate(f1, xValues, yValues, count);
+            for (int i = 0; i < count; i++) {
+                yValues[i] *= values[i];
+            }
+            return;
+        }
+        double left = leftBorder;
+        double right = rightBorder;
+        // Аргументы вне области определения передаются множителям как NaN
+        double[] arguments = new double[count];
+        for (int i = 0; i < count; i++) {
+            double x = xValues[i];
+            arguments[i] = (x < left || x > right) ? Double.NaN : x;
+        }
+        Functions.evaluate(f1, arguments, yValues, count);
+        Functions.evaluate(f2, arguments, values, count);
+        for (int i = 0; i < count; i++) {
+            double x = xValues[i];
+            yValues[i] = (x < left || x > right) ? Double.NaN : yValues[i] * values[i];
+        }
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        Mult that = (Mult) obj;
+        return hashCode() == that.hashCode() && NodeEquality.equal(f1, that.f1) && NodeEquality.equal(f2, that.f2);
+    }
+    
+    /**
+     * Хеш вычисляется один раз: поддеревья общих узлов не обходятся повторно
+     */
+    @Override
+    public int hashCode() {
+        int result = hash;
+        if (result == 0) {
+            result = Objects.hash(Mult.class, NodeEquality.hash(f1), NodeEquality.hash(f2));
+            hash = result;
+        }
+        return result;
+    }
 }
\ No newline at end of file
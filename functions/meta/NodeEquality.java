@@ -0,0 +1,26 @@
+package functions.meta;
+
+import functions.Function;
+import functions.TabulatedFunction;
+
+/**
+ * Сравнение дочерних узлов в equals() и hashCode() мета-функций.
+ * Табулированные функции изменяемы, поэтому сравниваются по ссылке:
+ * иначе кэшированный хеш узла устаревал бы после изменения точек,
+ * а разные таблицы с одинаковыми точками считались бы одним узлом
+ */
+final class NodeEquality {
+    private NodeEquality() {
+    }
+    
+    static boolean equal(Function f1, Function f2) {
+        if (f1 instanceof TabulatedFunction || f2 instanceof TabulatedFunction) {
+            return f1 == f2;
+        }
+        return f1.equals(f2);
+    }
+    
+    static int hash(Function f) {
+        return (f instanceof TabulatedFunction) ? System.identityHashCode(f) : f.hashCode();
+    }
+}
\ No newline at end of file
@@ -1,31 +1,106 @@
 package functions.meta;
 
+import functions.BatchFunction;
 import functions.Function;
+import functions.Functions;
 
-public class Power implements Function {
+import java.util.Objects;
+
+public class Power implements BatchFunction, CompositeFunction {
     private Function f;
     private double power;
+    private double leftBorder, rightBorder;
+    private boolean bounded;
+    private int hash;
     
     public Power(Function f, double power) {
         this.f = f;
         this.power = power;
+        computeDomainBorders();
+    }
+    
+    public Function getFunction() {
+        return f;
+    }
+    
+    public double getPower() {
+        return power;
+    }
+    
+    @Override
+    public void updateDomainBorders() {
+        if (f instanceof CompositeFunction) {
+            ((CompositeFunction) f).updateDomainBorders();
+        }
+        computeDomainBorders();
+    }
+    
+    private void computeDomainBorders() {
+        leftBorder = f.getLeftDomainBorder();
+        rightBorder = f.getRightDomainBorder();
+        bounded = leftBorder != Double.NEGATIVE_INFINITY || rightBorder != Double.POSITIVE_INFINITY;
     }
     
     @Override
     public double getLeftDomainBorder() {
-        return f.getLeftDomainBorder();
+        return leftBorder;
     }
     
     @Override
     public double getRightDomainBorder() {
-        return f.getRightDomainBorder();
+        return rightBorder;
     }
     
     @Override
     public double getFunctionValue(double x) {
-        if (x < getLeftDomainBorder() || x > getRightDomainBorder()) {
+        if (bounded && (x < leftBorder || x > rightBorder)) {
             return Double.NaN;
         }
         return Math.pow(f.getFunctionValue(x), power);
     }
+    
+    @Override
+    public void getFunctionValues(double[] xValues, double[] yValues, int count) {
+        if (!bounded) {
+            Functions.evaluate(f, xValues, yValues, count);
+            for (int i = 0; i < count; i++) {
+                yValues[i] = Math.pow(yValues[i], power);
+            }
+            return;
+        }
+        double left = leftBorder;
+        double right = rightBorder;
+        // Аргументы вне области определения передаются функции как NaN
+        double[] arguments = new double[count];
+        for (int i = 0; i < count; i++) {
+            double x = xValues[i];
+            arguments[i] = (x < left || x > right) ? Double.NaN : x;
+        }
+        Functions.evaluate(f, arguments, yValues, count);
+        for (int i = 0; i < count; i++) {
+            double x = xValues[i];
+            yValues[i] = (x < left || x > right) ? Double.NaN : Math.pow(yValues[i], power);
+        }
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        Power that = (Power) obj;
+        return hashCode() == that.hashCode() && Double.compare(power, that.power) == 0 && NodeEquality.equal(f, that.f);
+    }
+    
+    /**
+     * Хеш вычисляется один раз: поддеревья общих узлов не обходятся повторно
+     */
+    @Override
+    public int hashCode() {
+        int result = hash;
+        if (result == 0) {
+            result = Objects.hash(Power.class, NodeEquality.hash(f), power);
+            hash = result;
+        }
+        return result;
+    }
 }
\ No newline at end of file
@@ -1,41 +1,123 @@
 package functions.meta;
 
+import functions.BatchFunction;
 import functions.Function;
+import functions.Functions;
 
-public class Scale implements Function {
+import java.util.Objects;
+
+public class Scale implements BatchFunction, CompositeFunction {
     private Function f;
     private double scaleX, scaleY;
+    private double innerLeft, innerRight, leftBorder, rightBorder;
+    private boolean bounded;
+    private int hash;
     
     public Scale(Function f, double scaleX, double scaleY) {
         this.f = f;
         this.scaleX = scaleX;
         this.scaleY = scaleY;
+        computeDomainBorders();
+    }
+    
+    public Function getFunction() {
+        return f;
+    }
+    
+    public double getScaleX() {
+        return scaleX;
+    }
+    
+    public double getScaleY() {
+        return scaleY;
     }
     
     @Override
-    public double getLeftDomainBorder() {
+    public void updateDomainBorders() {
+        if (f instanceof CompositeFunction) {
+            ((CompositeFunction) f).updateDomainBorders();
+        }
+        computeDomainBorders();
+    }
+    
+    private void computeDomainBorders() {
+        innerLeft = f.getLeftDomainBorder();
+        innerRight = f.getRightDomainBorder();
         if (scaleX >= 0) {
-            return f.getLeftDomainBorder() * scaleX;
+            leftBorder = innerLeft * scaleX;
+            rightBorder = innerRight * scaleX;
         } else {
-            return f.getRightDomainBorder() * scaleX;
+            leftBorder = innerRight * scaleX;
+            rightBorder = innerLeft * scaleX;
         }
+        bounded = innerLeft != Double.NEGATIVE_INFINITY || innerRight != Double.POSITIVE_INFINITY;
+    }
+    
+    @Override
+    public double getLeftDomainBorder() {
+        return leftBorder;
     }
     
     @Override
     public double getRightDomainBorder() {
-        if (scaleX >= 0) {
-            return f.getRightDomainBorder() * scaleX;
-        } else {
-            return f.getLeftDomainBorder() * scaleX;
-        }
+        return rightBorder;
     }
     
     @Override
     public double getFunctionValue(double x) {
         double originalX = x / scaleX;
-        if (originalX < f.getLeftDomainBorder() || originalX > f.getRightDomainBorder()) {
+        if (bounded && (originalX < innerLeft || originalX > innerRight)) {
             return Double.NaN;
         }
         return f.getFunctionValue(originalX) * scaleY;
     }
+    
+    @Override
+    public void getFunctionValues(double[] xValues, double[] yValues, int count) {
+        double[] arguments = new double[count];
+        if (!bounded) {
+            for (int i = 0; i < count; i++) {
+                arguments[i] = xValues[i] / scaleX;
+            }
+            Functions.evaluate(f, arguments, yValues, count);
+            for (int i = 0; i < count; i++) {
+                yValues[i] *= scaleY;
+            }
+            return;
+        }
+        double left = innerLeft;
+        double right = innerRight;
+        // Аргументы вне области определения передаются функции как NaN
+        for (int i = 0; i < count; i++) {
+            double originalX = xValues[i] / scaleX;
+            arguments[i] = (originalX < left || originalX > right) ? Double.NaN : originalX;
+        }
+        Functions.evaluate(f, arguments, yValues, count);
+        for (int i = 0; i < count; i++) {
+            double originalX = xValues[i] / scaleX;
+            yValues[i] = (originalX < left || originalX > right) ? Double.NaN : yValues[i] * scaleY;
+        }
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        Scale that = (Scale) obj;
+        return hashCode() == that.hashCode() && Double.compare(scaleX, that.scaleX) == 0
+                && Double.compare(scaleY, that.scaleY) == 0 && NodeEquality.equal(f, that.f);
+    }
+    
+    /**
+     * Хеш вычисляется один раз: поддеревья общих узлов не обходятся повторно
+     */
+    @Override
+    public int hashCode() {
+        int result = hash;
+        if (result == 0) {
+            result = Objects.hash(Scale.class, NodeEquality.hash(f), scaleX, scaleY);
+            hash = result;
+        }
+        return result;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,86 @@
+package functions.meta;
+
+import functions.BatchFunction;
+import functions.Function;
+import functions.Functions;
+
+/**
+ * Общий узел графа функций, запоминающий последнее вычисленное значение.
+ * Если несколько родителей вызывают узел с одним и тем же x, функция
+ * вычисляется один раз. Пара (x, y) хранится в неизменяемой записи,
+ * поэтому узел можно использовать из нескольких потоков
+ */
+public class SharedFunction implements BatchFunction, CompositeFunction {
+    private static final class Entry {
+        final long xBits;
+        final double y;
+        
+        Entry(long xBits, double y) {
+            this.xBits = xBits;
+            this.y = y;
+        }
+    }
+    
+    private final Function f;
+    private volatile Entry last;
+    
+    public SharedFunction(Function f) {
+        this.f = f;
+    }
+    
+    public Function getFunction() {
+        return f;
+    }
+    
+    /**
+     * Пересчет границ дочернего дерева; запомненное значение сбрасывается,
+     * так как изменившаяся функция может давать другие значения
+     */
+    @Override
+    public void updateDomainBorders() {
+        if (f instanceof CompositeFunction) {
+            ((CompositeFunction) f).updateDomainBorders();
+        }
+        last = null;
+    }
+    
+    @Override
+    public double getLeftDomainBorder() {
+        return f.getLeftDomainBorder();
+    }
+    
+    @Override
+    public double getRightDomainBorder() {
+        return f.getRightDomainBorder();
+    }
+    
+    @Override
+    public double getFunctionValue(double x) {
+        // Сравнение по битам: 0.0 и -0.0 различаются, NaN совпадает с NaN
+        long xBits = Double.doubleToLongBits(x);
+        Entry entry = last;
+        if (entry != null && entry.xBits == xBits) {
+            return entry.y;
+        }
+        double y = f.getFunctionValue(x);
+        last = new Entry(xBits, y);
+        return y;
+    }
+    
+    @Override
+    public void getFunctionValues(double[] xValues, double[] yValues, int count) {
+        Functions.evaluate(f, xValues, yValues, count);
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        return NodeEquality.equal(f, ((SharedFunction) obj).f);
+    }
+    
+    @Override
+    public int hashCode() {
+        return NodeEquality.hash(f);
+    }
+}
\ No newline at end of file
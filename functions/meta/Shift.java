@@ -1,33 +1,118 @@
 package functions.meta;
 
+import functions.BatchFunction;
 import functions.Function;
+import functions.Functions;
 
-public class Shift implements Function {
+import java.util.Objects;
+
+public class Shift implements BatchFunction, CompositeFunction {
     private Function f;
     private double shiftX, shiftY;
+    private double innerLeft, innerRight, leftBorder, rightBorder;
+    private boolean bounded;
+    private int hash;
     
     public Shift(Function f, double shiftX, double shiftY) {
         this.f = f;
         this.shiftX = shiftX;
         this.shiftY = shiftY;
+        computeDomainBorders();
+    }
+    
+    public Function getFunction() {
+        return f;
+    }
+    
+    public double getShiftX() {
+        return shiftX;
+    }
+    
+    public double getShiftY() {
+        return shiftY;
+    }
+    
+    @Override
+    public void updateDomainBorders() {
+        if (f instanceof CompositeFunction) {
+            ((CompositeFunction) f).updateDomainBorders();
+        }
+        computeDomainBorders();
+    }
+    
+    private void computeDomainBorders() {
+        innerLeft = f.getLeftDomainBorder();
+        innerRight = f.getRightDomainBorder();
+        leftBorder = innerLeft + shiftX;
+        rightBorder = innerRight + shiftX;
+        bounded = innerLeft != Double.NEGATIVE_INFINITY || innerRight != Double.POSITIVE_INFINITY;
     }
     
     @Override
     public double getLeftDomainBorder() {
-        return f.getLeftDomainBorder() + shiftX;
+        return leftBorder;
     }
     
     @Override
     public double getRightDomainBorder() {
-        return f.getRightDomainBorder() + shiftX;
+        return rightBorder;
     }
     
     @Override
     public double getFunctionValue(double x) {
         double originalX = x - shiftX;
-        if (originalX < f.getLeftDomainBorder() || originalX > f.getRightDomainBorder()) {
+        if (bounded && (originalX < innerLeft || originalX > innerRight)) {
             return Double.NaN;
         }
         return f.getFunctionValue(originalX) + shiftY;
     }
+    
+    @Override
+    public void getFunctionValues(double[] xValues, double[] yValues, int count) {
+        double[] arguments = new double[count];
+        if (!bounded) {
+            for (int i = 0; i < count; i++) {
+                arguments[i] = xValues[i] - shiftX;
+            }
+            Functions.evaluate(f, arguments, yValues, count);
+            for (int i = 0; i < count; i++) {
+                yValues[i] += shiftY;
+            }
+            return;
+        }
+        double left = innerLeft;
+        double right = innerRight;
+        // Аргументы вне области определения передаются функции как NaN
+        for (int i = 0; i < count; i++) {
+            double originalX = xValues[i] - shiftX;
+            arguments[i] = (originalX < left || originalX > right) ? Double.NaN : originalX;
+        }
+        Functions.evaluate(f, arguments, yValues, count);
+        for (int i = 0; i < count; i++) {
+            double originalX = xValues[i] - shiftX;
+            yValues[i] = (originalX < left || originalX > right) ? Double.NaN : yValues[i] + shiftY;
+        }
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        Shift that = (Shift) obj;
+        return hashCode() == that.hashCode() && Double.compare(shiftX, that.shiftX) == 0
+                && Double.compare(shiftY, that.shiftY) == 0 && NodeEquality.equal(f, that.f);
+    }
+    
+    /**
+     * Хеш вычисляется один раз: поддеревья общих узлов не обходятся повторно
+     */
+    @Override
+    public int hashCode() {
+        int result = hash;
+        if (result == 0) {
+            result = Objects.hash(Shift.class, NodeEquality.hash(f), shiftX, shiftY);
+            hash = result;
+        }
+        return result;
+    }
 }
\ No newline at end of file
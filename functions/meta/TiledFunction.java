@@ -0,0 +1,226 @@
+package functions.meta;
+
+import functions.Function;
+import functions.Functions;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Приближение функции, табулируемое лениво по отрезкам (плиткам).
+ * Ось x делится на плитки ширины tileWidth; при первом обращении к плитке
+ * функция вычисляется в pointsPerTile равноотстоящих точках (через
+ * BatchFunction, если функция его реализует), а дальше значения внутри
+ * плитки находятся линейной интерполяцией. Плитка, пересекающая границу
+ * области определения, табулируется только по ее части внутри области.
+ * Хранимые плитки ограничены бюджетом памяти; при его превышении вытесняются
+ * давно не использованные (LRU). Значения в узлах совпадают с исходной
+ * функцией, между узлами погрешность определяется линейной интерполяцией
+ */
+public class TiledFunction implements CompositeFunction {
+    /**
+     * Оценка накладных расходов на одну плитку (объекты, заголовки, запись в LRU)
+     */
+    private static final long TILE_OVERHEAD_BYTES = 96;
+    
+    private final Function f;
+    private final double tileWidth;
+    private final int pointsPerTile;
+    private final int maxTiles;
+    private final Map<Long, Tile> tiles;
+    
+    private long hits;
+    private long misses;
+    private long evictions;
+    
+    /**
+     * Значения функции на равномерной сетке внутри одной плитки
+     */
+    private static final class Tile {
+        final double left;
+        final double step;
+        final double[] values;
+        
+        Tile(double left, double step, double[] values) {
+            this.left = left;
+            this.step = step;
+            this.values = values;
+        }
+        
+        double interpolate(double x) {
+            int last = values.length - 1;
+            if (step == 0) {
+                return values[0];
+            }
+            double t = (x - left) / step;
+            int i = Math.min(Math.max((int) t, 0), last - 1);
+            double fraction = t - i;
+            if (fraction == 0) {
+                return values[i];
+            }
+            if (fraction == 1) {
+                return values[i + 1];
+            }
+            return values[i] + (values[i + 1] - values[i]) * fraction;
+        }
+    }
+    
+    /**
+     * @param tileWidth ширина плитки
+     * @param pointsPerTile количество точек табуляции в плитке (не меньше 2)
+     * @param memoryBudgetBytes максимальный объем памяти под плитки
+     */
+    public TiledFunction(Function f, double tileWidth, int pointsPerTile, long memoryBudgetBytes) {
+        if (!(tileWidth > 0) || Double.isInfinite(tileWidth)) {
+            throw new IllegalArgumentException("Tile width must be positive and finite (got " + tileWidth + ")");
+        }
+        if (pointsPerTile < 2) {
+            throw new IllegalArgumentException("Tile must contain at least 2 points (got " + pointsPerTile + ")");
+        }
+        long tileBytes = 8L * pointsPerTile + TILE_OVERHEAD_BYTES;
+        if (memoryBudgetBytes < tileBytes) {
+            throw new IllegalArgumentException("Memory budget " + memoryBudgetBytes
+                + " is smaller than one tile (" + tileBytes + " bytes)");
+        }
+        this.f = f;
+        this.tileWidth = tileWidth;
+        this.pointsPerTile = pointsPerTile;
+        this.maxTiles = (int) Math.min(Integer.MAX_VALUE, memoryBudgetBytes / tileBytes);
+        this.tiles = new LinkedHashMap<Long, Tile>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Tile> eldest) {
+                if (size() > maxTiles) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+    
+    public Function getFunction() {
+        return f;
+    }
+    
+    public double getTileWidth() {
+        return tileWidth;
+    }
+    
+    public int getPointsPerTile() {
+        return pointsPerTile;
+    }
+    
+    public int getMaxTiles() {
+        return maxTiles;
+    }
+    
+    @Override
+    public double getLeftDomainBorder() {
+        return f.getLeftDomainBorder();
+    }
+    
+    @Override
+    public double getRightDomainBorder() {
+        return f.getRightDomainBorder();
+    }
+    
+    /**
+     * Пересчет границ исходной функции; все плитки сбрасываются
+     */
+    @Override
+    public void updateDomainBorders() {
+        if (f instanceof CompositeFunction) {
+            ((CompositeFunction) f).updateDomainBorders();
+        }
+        clear();
+    }
+    
+    @Override
+    public double getFunctionValue(double x) {
+        double leftBorder = f.getLeftDomainBorder();
+        double rightBorder = f.getRightDomainBorder();
+        if (!(x >= leftBorder && x <= rightBorder)) {
+            return Double.NaN;
+        }
+        double index = Math.floor(x / tileWidth);
+        if (Math.abs(index) >= 0x1p62) {
+            // Номер плитки не помещается в long: значение вычисляется напрямую
+            return f.getFunctionValue(x);
+        }
+        Long key = (long) index;
+        
+        Tile tile;
+        synchronized (this) {
+            tile = tiles.get(key);
+            if (tile != null) {
+                hits++;
+            } else {
+                misses++;
+            }
+        }
+        if (tile == null) {
+            // Табуляция выполняется вне блокировки; при одновременном
+            // промахе плитку могут построить несколько потоков
+            tile = tabulate(index * tileWidth, leftBorder, rightBorder);
+            synchronized (this) {
+                tiles.put(key, tile);
+            }
+        }
+        return tile.interpolate(x);
+    }
+    
+    private Tile tabulate(double tileLeft, double leftBorder, double rightBorder) {
+        double left = Math.max(tileLeft, leftBorder);
+        double right = Math.min(tileLeft + tileWidth, rightBorder);
+        if (!(right > left)) {
+            // Плитка касается области определения в одной точке
+            return new Tile(left, 0, new double[] {f.getFunctionValue(left)});
+        }
+        double step = (right - left) / (pointsPerTile - 1);
+        double[] xValues = new double[pointsPerTile];
+        for (int i = 0; i < pointsPerTile - 1; i++) {
+            xValues[i] = left + i * step;
+        }
+        xValues[pointsPerTile - 1] = right;
+        double[] values = new double[pointsPerTile];
+        Functions.evaluate(f, xValues, values, pointsPerTile);
+        return new Tile(left, step, values);
+    }
+    
+    public synchronized long getHits() {
+        return hits;
+    }
+    
+    public synchronized long getMisses() {
+        return misses;
+    }
+    
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+    
+    /**
+     * Доля обращений, обслуженных готовыми плитками (0, если обращений не было)
+     */
+    public synchronized double getHitRate() {
+        long requests = hits + misses;
+        return (requests == 0) ? 0.0 : (double) hits / requests;
+    }
+    
+    public synchronized int size() {
+        return tiles.size();
+    }
+    
+    /**
+     * Удаление всех плиток (статистика сохраняется)
+     */
+    public synchronized void clear() {
+        tiles.clear();
+    }
+    
+    @Override
+    public synchronized String toString() {
+        return String.format("TiledFunction[tiles=%d/%d, hits=%d, misses=%d, evictions=%d]",
+            tiles.size(), maxTiles, hits, misses, evictions);
+    }
+}
\ No newline at end of file
@@ -1,14 +1,26 @@
 package threads;
 
 import functions.Functions;
+import functions.IntegrationBudget;
+import functions.IntegrationCache;
+import functions.IntegrationResult;
 
 public class Integrator extends Thread {
     private final Task task;
     private final Semaphore semaphore;
+    private final IntegrationCache cache;
     
     public Integrator(Task task, Semaphore semaphore) {
+        this(task, semaphore, null);
+    }
+    
+    /**
+     * Интегратор с общим кэшем результатов (может быть общим для нескольких интеграторов)
+     */
+    public Integrator(Task task, Semaphore semaphore, IntegrationCache cache) {
         this.task = task;
         this.semaphore = semaphore;
+        this.cache = cache;
     }
     
     @Override
@@ -35,12 +47,30 @@ public class Integrator extends Thread {
                     
                     // Вычисление интеграла
                     try {
-                        double result = Functions.integrate(
-                            taskData.function,
-                            taskData.leftBorder,
-                            taskData.rightBorder,
-                            taskData.discretizationStep
-                        );
+                        // Интегрирование останавливается при прерывании потока
+                        IntegrationResult integration = (cache != null)
+                            ? cache.integrate(
+                                taskData.function,
+                                taskData.leftBorder,
+                                taskData.rightBorder,
+                                taskData.discretizationStep,
+                                IntegrationBudget.unlimited())
+                            : Functions.integrate(
+                                taskData.function,
+                                taskData.leftBorder,
+                                taskData.rightBorder,
+                                taskData.discretizationStep,
+                                IntegrationBudget.unlimited());
+                        
+                        if (!integration.isCompleted()) {
+                            System.out.printf("Integrator: Stopped (%s) for [%.2f, %.2f] at %.2f%n", 
+                                integration.getStatus(), 
+                                taskData.leftBorder, 
+                                taskData.rightBorder, 
+                                integration.getReachedBorder());
+                            break;
+                        }
+                        double result = integration.getValue();
                         
                         // Вывод результата
                         System.out.printf("Integrator: Result %.2f %.2f %.2f %.6f%n", 